@@ -0,0 +1,30 @@
+package com.biapp.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * 基准测试公共方法
+ *
+ * @author Yun
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * 屏蔽标准输出, 避免每帧日志影响测试结果
+     */
+    static void muteStdout() {
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+}
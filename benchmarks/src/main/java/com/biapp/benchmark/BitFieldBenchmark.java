@@ -0,0 +1,67 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.BitReader;
+import aura.data.Bytes;
+import aura.data.Bytes.BIT_ORDER;
+
+/**
+ * 位域解析基准测试: 二进制字符串 vs {@link BitReader}
+ * <p>
+ * 解析8字节状态寄存器: 1+3+12+16+32位
+ * <p>
+ * java -jar target/benchmarks.jar BitFieldBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitFieldBenchmark {
+
+    private byte[] register;
+
+    @Setup
+    public void setup() {
+        register = new byte[8];
+        new Random(8).nextBytes(register);
+    }
+
+    @Benchmark
+    public long bitString() {
+        String bits = Bytes.toBitString(register);
+        long sum = bits.charAt(0) == '1' ? 1 : 0;
+        sum += Long.parseLong(bits.substring(1, 4), 2);
+        sum += Long.parseLong(bits.substring(4, 16), 2);
+        sum += Long.parseLong(bits.substring(16, 32), 2);
+        sum += Long.parseLong(bits.substring(32, 64), 2);
+        return sum;
+    }
+
+    @Benchmark
+    public long bitReader() {
+        BitReader reader = new BitReader(register, BIT_ORDER.MSB_FIRST);
+        long sum = reader.readBit() ? 1 : 0;
+        sum += reader.readBits(3);
+        sum += reader.readBits(12);
+        sum += reader.readBits(16);
+        sum += reader.readBits(32);
+        return sum;
+    }
+}
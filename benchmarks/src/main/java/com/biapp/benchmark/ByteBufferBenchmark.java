@@ -0,0 +1,84 @@
+package com.biapp.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biapp.serialport.LoopbackTransport;
+import com.biapp.serialport.SerialPortClient;
+
+/**
+ * byte[]与ByteBuffer收发接口的分配对比
+ * <p>
+ * 在不限速的内存回环上完成一次发送和读取. 回环本身每次写入复制一份数据, 两种接口的差值即客户端自身的分配.
+ * <p>
+ * java -jar target/benchmarks.jar ByteBufferBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ByteBufferBenchmark {
+
+    @Param({ "16", "256" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean direct;
+
+    private SerialPortClient client;
+
+    private byte[] request;
+
+    private ByteBuffer sendBuffer;
+
+    private ByteBuffer readBuffer;
+
+    @Setup
+    public void setup() {
+        Benchmarks.muteStdout();
+        client = new SerialPortClient(new LoopbackTransport("loop"));
+        client.open();
+        request = new byte[size];
+        sendBuffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        readBuffer = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        sendBuffer.put(request).flip();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public byte[] byteArray() throws IOException, TimeoutException {
+        client.sendData(request);
+        return client.readData(size, 1000);
+    }
+
+    @Benchmark
+    public int byteBuffer() throws IOException, TimeoutException {
+        sendBuffer.rewind();
+        client.sendData(sendBuffer);
+        readBuffer.clear();
+        return client.readData(readBuffer, 1000);
+    }
+}
@@ -0,0 +1,96 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.Bytes;
+
+/**
+ * {@link Bytes} 热点方法基准测试
+ * <p>
+ * java -jar target/benchmarks.jar BytesBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BytesBenchmark {
+
+    @Param({ "8", "64", "1024", "65536", "1048576" })
+    public int size;
+
+    private byte[] data;
+
+    private String hex;
+
+    private char[] chars;
+
+    private byte[] stream;
+
+    private byte[] pattern;
+
+    private byte[] half;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        data = new byte[size];
+        random.nextBytes(data);
+        hex = Bytes.toHexString(data);
+        chars = new char[size * 2];
+        // 查找最坏情况: 模式只在末尾出现且前缀频繁部分匹配
+        pattern = new byte[] { 0x55, 0x55, 0x55, (byte) 0xAA };
+        stream = new byte[size];
+        for (int i = 0; i < size; i++) {
+            stream[i] = (byte) (i % 5 == 4 ? 0x00 : 0x55);
+        }
+        System.arraycopy(pattern, 0, stream, size - pattern.length, pattern.length);
+        half = Bytes.subBytes(data, 0, size / 2);
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return Bytes.toHexString(data);
+    }
+
+    @Benchmark
+    public int toHex() {
+        return Bytes.toHex(data, 0, data.length, chars);
+    }
+
+    @Benchmark
+    public byte[] fromHexString() {
+        return Bytes.fromHexString(hex);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return Bytes.indexOf(stream, pattern);
+    }
+
+    @Benchmark
+    public byte[] concat() {
+        return Bytes.concat(half, half);
+    }
+
+    @Benchmark
+    public byte lrc() {
+        return Bytes.lrc(data);
+    }
+}
@@ -0,0 +1,107 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.Checksums;
+
+/**
+ * 校验和基准测试: 逐位/逐字节实现 vs {@link Checksums} 查表实现
+ * <p>
+ * java -jar target/benchmarks.jar ChecksumBenchmark
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecksumBenchmark {
+
+    @Param({ "16", "256", "4096", "1048576" })
+    public int size;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+    }
+
+    /**
+     * 常见的逐位CRC-16/MODBUS实现
+     */
+    @Benchmark
+    public int crc16ModbusBitwise() {
+        int crc = 0xFFFF;
+        for (byte b : data) {
+            crc ^= b & 0xFF;
+            for (int i = 0; i < 8; i++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0xA001 : crc >>> 1;
+            }
+        }
+        return crc;
+    }
+
+    @Benchmark
+    public long crc16Modbus() {
+        return Checksums.CRC16_MODBUS.checksum(data, 0, data.length);
+    }
+
+    @Benchmark
+    public long crc16Ccitt() {
+        return Checksums.CRC16_CCITT.checksum(data, 0, data.length);
+    }
+
+    @Benchmark
+    public long crc32() {
+        return Checksums.CRC32.checksum(data, 0, data.length);
+    }
+
+    /**
+     * JDK CRC32(内建指令)作为上限参考
+     */
+    @Benchmark
+    public long crc32Jdk() {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    /**
+     * 原Bytes.lrc逐字节实现
+     */
+    @Benchmark
+    public byte lrcBytewise() {
+        byte lrc = 0x00;
+        for (int i = 0; i < data.length; i++) {
+            if (i == 0) {
+                lrc = data[i];
+                continue;
+            }
+            lrc = (byte) (lrc ^ data[i]);
+        }
+        return lrc;
+    }
+
+    @Benchmark
+    public byte lrc() {
+        return Checksums.lrc(data, 0, data.length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.Bytes;
+import aura.data.Bytes.ENDIAN;
+
+/**
+ * 寄存器帧解析基准测试: subBytes + toInt vs 按偏移读取
+ * <p>
+ * 200字节帧, 50个4字节寄存器
+ * <p>
+ * java -jar target/benchmarks.jar CodecBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        frame = new byte[200];
+        new Random(200).nextBytes(frame);
+    }
+
+    @Benchmark
+    public long subBytes() {
+        long sum = 0;
+        for (int i = 0; i < frame.length; i += 4) {
+            sum += Bytes.toInt(Bytes.subBytes(frame, i, 4), ENDIAN.LITTLE_ENDIAN);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getInt() {
+        long sum = 0;
+        for (int i = 0; i < frame.length; i += 4) {
+            sum += Bytes.getInt(frame, i, ENDIAN.LITTLE_ENDIAN);
+        }
+        return sum;
+    }
+}
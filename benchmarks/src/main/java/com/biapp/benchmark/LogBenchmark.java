@@ -0,0 +1,57 @@
+package com.biapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biapp.util.PrintfUtil;
+
+/**
+ * {@link PrintfUtil} 单次调用开销基准测试, 标准输出被丢弃
+ * <p>
+ * java -jar target/benchmarks.jar LogBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean showCompileInfo;
+
+    @Setup
+    public void setup() {
+        Benchmarks.muteStdout();
+        PrintfUtil.setShowCompileInfo(showCompileInfo);
+    }
+
+    private final byte[] frame = new byte[256];
+
+    @Benchmark
+    public void d() {
+        PrintfUtil.d("COM1-Read", "0102030405060708");
+    }
+
+    /**
+     * 级别关闭时的16进制日志, 只有一次级别判断
+     */
+    @Benchmark
+    public void disabledHex() {
+        PrintfUtil.t("COM1-Read", "{}", frame);
+    }
+}
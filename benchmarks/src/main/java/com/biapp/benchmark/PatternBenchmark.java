@@ -0,0 +1,93 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.BytePattern;
+import aura.data.Bytes;
+import aura.data.MultiPattern;
+
+/**
+ * 字节序列查找基准测试: 逐位比较 vs {@link BytePattern} vs {@link MultiPattern}
+ * <p>
+ * java -jar target/benchmarks.jar PatternBenchmark
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternBenchmark {
+
+    @Param({ "1024", "65536", "1048576", "16777216" })
+    public int size;
+
+    @Param({ "4", "16" })
+    public int length;
+
+    private byte[] stream;
+
+    private byte[] pattern;
+
+    private BytePattern compiled;
+
+    private MultiPattern markers;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        stream = new byte[size];
+        random.nextBytes(stream);
+        pattern = new byte[length];
+        random.nextBytes(pattern);
+        // 模式只在末尾出现
+        System.arraycopy(pattern, 0, stream, size - length, length);
+        compiled = BytePattern.compile(pattern);
+        byte[] other = new byte[length];
+        random.nextBytes(other);
+        markers = MultiPattern.compile(other, pattern);
+    }
+
+    @Benchmark
+    public int naive() {
+        outer: for (int i = 0; i < stream.length - pattern.length + 1; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (stream[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return Bytes.indexOf(stream, pattern);
+    }
+
+    @Benchmark
+    public int horspool() {
+        return compiled.indexOf(stream, 0, stream.length);
+    }
+
+    @Benchmark
+    public long ahoCorasick() {
+        return markers.find(stream, 0, stream.length);
+    }
+}
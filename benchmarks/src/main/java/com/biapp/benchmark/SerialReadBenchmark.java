@@ -0,0 +1,225 @@
+package com.biapp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biapp.serialport.StreamTransport;
+
+/**
+ * 串口读取引擎基准测试
+ * <p>
+ * 模拟串口以固定速率到达数据, 每次操作读取1MB. 比较批量阻塞读取引擎与原逐字节忙等轮询的CPU占用:
+ * 每MB的CPU时间 = cpuNanos / megabytes.
+ * <p>
+ * java -jar target/benchmarks.jar SerialReadBenchmark
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerialReadBenchmark {
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    /**
+     * 模拟串口速率(B/s)
+     */
+    @Param({ "4194304" })
+    public int rate;
+
+    /**
+     * 单次读取长度
+     */
+    @Param({ "64", "1024" })
+    public int len;
+
+    private RateTransport transport;
+
+    private byte[] buffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        transport = new RateTransport(rate);
+        buffer = new byte[len];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transport.close();
+    }
+
+    @Benchmark
+    public int bulkRead(CpuCounters counters) throws IOException {
+        long cpu = counters.start();
+        int total = 0;
+        while (total < MEGABYTE) {
+            int count = transport.read(buffer, 0, len, len, 1000);
+            if (count < 0) {
+                break;
+            }
+            total += count;
+        }
+        counters.stop(cpu);
+        return total;
+    }
+
+    @Benchmark
+    public int busyPoll(CpuCounters counters) throws IOException {
+        long cpu = counters.start();
+        InputStream input = transport.input();
+        int total = 0;
+        while (total < MEGABYTE) {
+            // 原readData实现: 忙等available()并逐字节读取
+            int index = 0;
+            long start = System.currentTimeMillis();
+            do {
+                if (input.available() > 0) {
+                    input.read(buffer, index, 1);
+                    index++;
+                }
+            } while (index < len && System.currentTimeMillis() - start <= 1000);
+            total += index;
+        }
+        counters.stop(cpu);
+        return total;
+    }
+
+    /**
+     * 读取线程CPU时间
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters {
+
+        private static final ThreadMXBean THREAD = ManagementFactory.getThreadMXBean();
+
+        public long cpuNanos;
+
+        public long megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cpuNanos = 0;
+            megabytes = 0;
+        }
+
+        long start() {
+            return THREAD.getCurrentThreadCpuTime();
+        }
+
+        void stop(long start) {
+            cpuNanos += THREAD.getCurrentThreadCpuTime() - start;
+            megabytes++;
+        }
+    }
+
+    /**
+     * 模拟串口
+     * 数据按固定速率到达, 支持接收阈值和接收超时, 与串口驱动一样阻塞等待
+     */
+    static class RateTransport extends StreamTransport {
+
+        private final RateInputStream input;
+
+        RateTransport(int rate) {
+            input = new RateInputStream(rate);
+            inputStream = input;
+            outputStream = new ByteArrayOutputStream();
+        }
+
+        InputStream input() {
+            return input;
+        }
+
+        @Override
+        protected boolean setReceiveLimit(int threshold, long timeOut) {
+            input.threshold = threshold;
+            input.timeOut = timeOut * 1000000L;
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "rate";
+        }
+
+        @Override
+        public boolean open() {
+            return true;
+        }
+    }
+
+    /**
+     * 按固定速率到达的输入流
+     */
+    static class RateInputStream extends InputStream {
+
+        private final long start = System.nanoTime();
+
+        private final double bytesPerNano;
+
+        private long consumed;
+
+        int threshold = 1;
+
+        long timeOut = Long.MAX_VALUE;
+
+        RateInputStream(int rate) {
+            bytesPerNano = rate / 1e9;
+        }
+
+        @Override
+        public int available() {
+            long produced = (long) ((System.nanoTime() - start) * bytesPerNano);
+            return (int) Math.min(produced - consumed, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int read() {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == 1 ? b[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int need = Math.min(threshold, len);
+            long deadline = System.nanoTime() + timeOut;
+            int available;
+            while ((available = available()) < need) {
+                long arrive = start + (long) ((consumed + need) / bytesPerNano);
+                long wait = Math.min(arrive, deadline) - System.nanoTime();
+                if (wait <= 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                LockSupport.parkNanos(Math.max(wait, 1000));
+            }
+            int count = Math.min(available, len);
+            consumed += count;
+            return count;
+        }
+    }
+}
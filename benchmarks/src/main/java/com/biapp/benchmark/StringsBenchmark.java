@@ -0,0 +1,63 @@
+package com.biapp.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.StandardCharsets;
+import aura.data.Strings;
+
+/**
+ * {@link Strings} 编解码基准测试
+ * <p>
+ * java -jar target/benchmarks.jar StringsBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringsBenchmark {
+
+    @Param({ "8", "64", "1024", "65536", "1048576" })
+    public int size;
+
+    @Param({ "ISO_8859_1", "GBK" })
+    public StandardCharsets.Charsets charset;
+
+    private String text;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'A');
+        text = new String(chars);
+        encoded = Strings.encode(text, charset);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return Strings.encode(text, charset);
+    }
+
+    @Benchmark
+    public String decode() {
+        return Strings.decode(encoded, charset);
+    }
+}
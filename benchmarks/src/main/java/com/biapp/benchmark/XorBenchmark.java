@@ -0,0 +1,77 @@
+package com.biapp.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aura.data.Bytes;
+
+/**
+ * 异或基准测试: 原逐字节分配实现 vs {@link Bytes#xor(byte[], byte[])} vs 原地
+ * {@link Bytes#xorInto(byte[], byte[], int, int)}
+ * <p>
+ * java -jar target/benchmarks.jar XorBenchmark -prof gc
+ *
+ * @author Yun
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XorBenchmark {
+
+    @Param({ "8", "64", "1024", "65536", "1048576" })
+    public int size;
+
+    private byte[] data;
+
+    private byte[] mask;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(size);
+        data = new byte[size];
+        random.nextBytes(data);
+        mask = new byte[size];
+        random.nextBytes(mask);
+    }
+
+    /**
+     * 原Bytes.xor实现
+     */
+    @Benchmark
+    public byte[] perByte() {
+        byte[] xor = new byte[data.length];
+        for (int i = 0; i < xor.length; i++) {
+            xor[i] = Bytes.xor(data[i], mask[i]);
+        }
+        return xor;
+    }
+
+    @Benchmark
+    public byte[] xor() {
+        return Bytes.xor(data, mask);
+    }
+
+    /**
+     * 原地异或, 两次异或恢复原数据
+     */
+    @Benchmark
+    public byte[] xorInto() {
+        Bytes.xorInto(data, mask, 0, size);
+        return data;
+    }
+}
@@ -0,0 +1,182 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+
+import aura.data.Bytes.BIT_ORDER;
+
+/**
+ * Reads packed bit fields of 1 to 64 bits from a {@code byte[]} or
+ * {@link ByteBuffer} without intermediate Strings.
+ * <p>
+ * Fields are read consecutively from a bit position; the bit order decides
+ * both where a byte is entered and how field bits map to value bits, see
+ * {@link BIT_ORDER}. Instances are not thread-safe.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * BitReader status = new BitReader(register, BIT_ORDER.MSB_FIRST);
+ * boolean alarm = status.readBit();
+ * int mode = (int) status.readBits(3);
+ * int temperature = (int) status.readSignedBits(12);
+ * }
+ * </pre>
+ *
+ * @see BitWriter
+ */
+public final class BitReader {
+
+    private final byte[] array;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Index of the first byte in {@link #array} or {@link #buffer}.
+     */
+    private final int base;
+
+    private final long limit;
+
+    private final boolean msbFirst;
+
+    private long position;
+
+    public BitReader(byte[] data, BIT_ORDER order) {
+        this(data, 0, data.length, order);
+    }
+
+    /**
+     * @param data  the source
+     * @param off   the first byte
+     * @param len   the number of bytes
+     * @param order the bit order
+     */
+    public BitReader(byte[] data, int off, int len, BIT_ORDER order) {
+        Preconditions.checkPositionIndexes(off, off + len, data.length);
+        this.array = data;
+        this.buffer = null;
+        this.base = off;
+        this.limit = (long) len << 3;
+        this.msbFirst = Preconditions.checkNotNull(order, "order") == BIT_ORDER.MSB_FIRST;
+    }
+
+    /**
+     * Read the bytes between the position and the limit of {@code buffer}. The
+     * buffer's position is not changed.
+     *
+     * @param buffer heap or direct buffer
+     * @param order  the bit order
+     */
+    public BitReader(ByteBuffer buffer, BIT_ORDER order) {
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.buffer = null;
+            this.base = buffer.arrayOffset() + buffer.position();
+        } else {
+            this.array = null;
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+        this.limit = (long) buffer.remaining() << 3;
+        this.msbFirst = Preconditions.checkNotNull(order, "order") == BIT_ORDER.MSB_FIRST;
+    }
+
+    /**
+     * The position in bits from the first byte.
+     *
+     * @return
+     */
+    public long position() {
+        return position;
+    }
+
+    public BitReader position(long position) {
+        if (position < 0 || position > limit) {
+            throw new IndexOutOfBoundsException("position: " + position + " (limit: " + limit + ")");
+        }
+        this.position = position;
+        return this;
+    }
+
+    /**
+     * The number of bits left.
+     *
+     * @return
+     */
+    public long remaining() {
+        return limit - position;
+    }
+
+    /**
+     * Skip {@code bits} bits.
+     *
+     * @param bits
+     * @return
+     */
+    public BitReader skip(long bits) {
+        return position(position + bits);
+    }
+
+    /**
+     * Skip to the next byte boundary.
+     *
+     * @return
+     */
+    public BitReader alignToByte() {
+        return position((position + 7) & ~7L);
+    }
+
+    public boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * Read an unsigned field.
+     *
+     * @param bits the field width, 1 to 64
+     * @return the field value, zero-extended
+     * @throws IndexOutOfBoundsException if fewer than {@code bits} bits remain
+     */
+    public long readBits(int bits) {
+        Preconditions.checkArgument(bits >= 1 && bits <= 64, "Invalid bits: %s", bits);
+        if (bits > limit - position) {
+            throw new IndexOutOfBoundsException("bits: " + bits + " (remaining: " + (limit - position) + ")");
+        }
+        long pos = position;
+        long value = 0;
+        int need = bits;
+        int shift = 0;
+        while (need > 0) {
+            int b = byteAt((int) (pos >>> 3));
+            int offset = (int) pos & 7;
+            int take = Math.min(8 - offset, need);
+            int mask = (1 << take) - 1;
+            if (msbFirst) {
+                value = (value << take) | ((b >>> (8 - offset - take)) & mask);
+            } else {
+                value |= (long) ((b >>> offset) & mask) << shift;
+                shift += take;
+            }
+            pos += take;
+            need -= take;
+        }
+        position = pos;
+        return value;
+    }
+
+    /**
+     * Read a two's complement field.
+     *
+     * @param bits the field width, 1 to 64
+     * @return the field value, sign-extended
+     */
+    public long readSignedBits(int bits) {
+        long value = readBits(bits);
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+
+    private int byteAt(int index) {
+        return (array != null ? array[base + index] : buffer.get(base + index)) & 0xFF;
+    }
+}
@@ -0,0 +1,181 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+
+import aura.data.Bytes.BIT_ORDER;
+
+/**
+ * Writes packed bit fields of 1 to 64 bits into a {@code byte[]} or
+ * {@link ByteBuffer} without intermediate Strings.
+ * <p>
+ * Fields are written consecutively from a bit position with the same layout
+ * {@link BitReader} reads. Bits outside the written fields keep their previous
+ * value. Instances are not thread-safe.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * byte[] register = new byte[2];
+ * new BitWriter(register, BIT_ORDER.MSB_FIRST).writeBit(true).writeBits(mode, 3).writeBits(temperature, 12);
+ * }
+ * </pre>
+ *
+ * @see BitReader
+ */
+public final class BitWriter {
+
+    private final byte[] array;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Index of the first byte in {@link #array} or {@link #buffer}.
+     */
+    private final int base;
+
+    private final long limit;
+
+    private final boolean msbFirst;
+
+    private long position;
+
+    public BitWriter(byte[] data, BIT_ORDER order) {
+        this(data, 0, data.length, order);
+    }
+
+    /**
+     * @param data  the destination
+     * @param off   the first byte
+     * @param len   the number of bytes
+     * @param order the bit order
+     */
+    public BitWriter(byte[] data, int off, int len, BIT_ORDER order) {
+        Preconditions.checkPositionIndexes(off, off + len, data.length);
+        this.array = data;
+        this.buffer = null;
+        this.base = off;
+        this.limit = (long) len << 3;
+        this.msbFirst = Preconditions.checkNotNull(order, "order") == BIT_ORDER.MSB_FIRST;
+    }
+
+    /**
+     * Write into the bytes between the position and the limit of
+     * {@code buffer}. The buffer's position is not changed.
+     *
+     * @param buffer heap or direct buffer
+     * @param order  the bit order
+     */
+    public BitWriter(ByteBuffer buffer, BIT_ORDER order) {
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.buffer = null;
+            this.base = buffer.arrayOffset() + buffer.position();
+        } else {
+            this.array = null;
+            this.buffer = buffer;
+            this.base = buffer.position();
+        }
+        this.limit = (long) buffer.remaining() << 3;
+        this.msbFirst = Preconditions.checkNotNull(order, "order") == BIT_ORDER.MSB_FIRST;
+    }
+
+    /**
+     * The position in bits from the first byte.
+     *
+     * @return
+     */
+    public long position() {
+        return position;
+    }
+
+    public BitWriter position(long position) {
+        if (position < 0 || position > limit) {
+            throw new IndexOutOfBoundsException("position: " + position + " (limit: " + limit + ")");
+        }
+        this.position = position;
+        return this;
+    }
+
+    /**
+     * The number of bits left.
+     *
+     * @return
+     */
+    public long remaining() {
+        return limit - position;
+    }
+
+    /**
+     * The number of bytes touched so far, including a partially written last
+     * byte.
+     *
+     * @return
+     */
+    public int bytesWritten() {
+        return (int) ((position + 7) >>> 3);
+    }
+
+    /**
+     * Skip to the next byte boundary, leaving the skipped bits unchanged.
+     *
+     * @return
+     */
+    public BitWriter alignToByte() {
+        return position((position + 7) & ~7L);
+    }
+
+    public BitWriter writeBit(boolean bit) {
+        return writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Write the low {@code bits} bits of {@code value}.
+     *
+     * @param value the field value, higher bits are ignored
+     * @param bits  the field width, 1 to 64
+     * @return
+     * @throws IndexOutOfBoundsException if fewer than {@code bits} bits remain
+     */
+    public BitWriter writeBits(long value, int bits) {
+        Preconditions.checkArgument(bits >= 1 && bits <= 64, "Invalid bits: %s", bits);
+        if (bits > limit - position) {
+            throw new IndexOutOfBoundsException("bits: " + bits + " (remaining: " + (limit - position) + ")");
+        }
+        long pos = position;
+        int need = bits;
+        while (need > 0) {
+            int index = (int) (pos >>> 3);
+            int offset = (int) pos & 7;
+            int take = Math.min(8 - offset, need);
+            int chunk;
+            int shift;
+            if (msbFirst) {
+                chunk = (int) (value >>> (need - take));
+                shift = 8 - offset - take;
+            } else {
+                chunk = (int) (value >>> (bits - need));
+                shift = offset;
+            }
+            int mask = ((1 << take) - 1) << shift;
+            int b = byteAt(index);
+            setByte(index, (b & ~mask) | ((chunk << shift) & mask));
+            pos += take;
+            need -= take;
+        }
+        position = pos;
+        return this;
+    }
+
+    private int byteAt(int index) {
+        return array != null ? array[base + index] : buffer.get(base + index);
+    }
+
+    private void setByte(int index, int value) {
+        if (array != null) {
+            array[base + index] = (byte) value;
+        } else {
+            buffer.put(base + index, (byte) value);
+        }
+    }
+}
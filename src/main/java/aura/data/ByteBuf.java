@@ -0,0 +1,531 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import aura.data.Bytes.ENDIAN;
+
+/**
+ * A growable byte buffer with separate read and write indexes.
+ * <p>
+ * Bytes are appended at the {@link #writerIndex()} and consumed from the
+ * {@link #readerIndex()}, so assembling frames from partial reads needs
+ * neither {@link Bytes#concat(byte[]...)} nor {@link Bytes#subBytes}. Storage
+ * grows by doubling and is reclaimed by {@link #compact()} instead of being
+ * reallocated; buffers can be recycled through a {@link ByteBufPool}.
+ * 
+ * <pre>
+ * +-------------------+------------------+------------------+
+ * | discardable bytes |  readable bytes  |  writable bytes  |
+ * +-------------------+------------------+------------------+
+ * |                   |                  |                  |
+ * 0      <=      readerIndex   <=   writerIndex    <=    capacity
+ * </pre>
+ * <p>
+ * Slices share the storage of their parent and have a fixed capacity. Typed
+ * accessors take a {@link ENDIAN} byte order. Instances are not thread-safe.
+ *
+ * @see ByteBufPool
+ */
+public final class ByteBuf {
+
+    private byte[] array;
+
+    /**
+     * Index of this buffer's first byte in {@link #array}.
+     */
+    private final int base;
+
+    private int capacity;
+
+    private final boolean growable;
+
+    private int readerIndex;
+
+    private int writerIndex;
+
+    private ByteBuf(byte[] array, int base, int capacity, boolean growable) {
+        this.array = array;
+        this.base = base;
+        this.capacity = capacity;
+        this.growable = growable;
+    }
+
+    /**
+     * Allocate an empty growable buffer.
+     *
+     * @param initialCapacity the initial capacity
+     * @return
+     */
+    public static ByteBuf allocate(int initialCapacity) {
+        Preconditions.checkArgument(initialCapacity >= 0, "Invalid initialCapacity: %s", initialCapacity);
+        return new ByteBuf(new byte[initialCapacity], 0, initialCapacity, true);
+    }
+
+    /**
+     * Wrap an array without copying. All of {@code data} is readable; the buffer
+     * grows into a new array once it is full.
+     *
+     * @param data the backing array
+     * @return
+     */
+    public static ByteBuf wrap(byte[] data) {
+        ByteBuf buf = new ByteBuf(data, 0, data.length, true);
+        buf.writerIndex = data.length;
+        return buf;
+    }
+
+    /**
+     * The current capacity.
+     *
+     * @return
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Whether the buffer may grow beyond {@link #capacity()}. Slices cannot.
+     *
+     * @return
+     */
+    public boolean isGrowable() {
+        return growable;
+    }
+
+    public int readerIndex() {
+        return readerIndex;
+    }
+
+    public ByteBuf readerIndex(int readerIndex) {
+        Preconditions.checkPositionIndex(readerIndex, writerIndex, "readerIndex");
+        this.readerIndex = readerIndex;
+        return this;
+    }
+
+    public int writerIndex() {
+        return writerIndex;
+    }
+
+    public ByteBuf writerIndex(int writerIndex) {
+        Preconditions.checkPositionIndexes(readerIndex, writerIndex, capacity);
+        this.writerIndex = writerIndex;
+        return this;
+    }
+
+    /**
+     * {@code writerIndex - readerIndex}.
+     *
+     * @return
+     */
+    public int readableBytes() {
+        return writerIndex - readerIndex;
+    }
+
+    /**
+     * {@code capacity - writerIndex}.
+     *
+     * @return
+     */
+    public int writableBytes() {
+        return capacity - writerIndex;
+    }
+
+    public boolean isReadable() {
+        return writerIndex > readerIndex;
+    }
+
+    /**
+     * The backing array, for passing the readable bytes to APIs that take
+     * {@code (byte[], offset, length)} such as a frame decoder. Valid until the
+     * next write, {@link #compact()} or growth.
+     *
+     * @return
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * The position of index 0 of this buffer in {@link #array()}.
+     *
+     * @return
+     */
+    public int arrayOffset() {
+        return base;
+    }
+
+    /**
+     * Reset both indexes to 0. The content is not cleared.
+     *
+     * @return
+     */
+    public ByteBuf clear() {
+        readerIndex = 0;
+        writerIndex = 0;
+        return this;
+    }
+
+    /**
+     * Move the readable bytes to index 0, discarding the bytes already read.
+     * Existing slices keep their indexes and no longer see the bytes they were
+     * created over.
+     *
+     * @return
+     */
+    public ByteBuf compact() {
+        if (readerIndex > 0) {
+            int readable = readableBytes();
+            System.arraycopy(array, base + readerIndex, array, base, readable);
+            readerIndex = 0;
+            writerIndex = readable;
+        }
+        return this;
+    }
+
+    /**
+     * Make room for at least {@code minWritableBytes} more bytes, compacting when
+     * that suffices and growing by doubling otherwise.
+     *
+     * @param minWritableBytes the number of bytes about to be written
+     * @return
+     * @throws IndexOutOfBoundsException if this is a slice without enough room
+     */
+    public ByteBuf ensureWritable(int minWritableBytes) {
+        Preconditions.checkArgument(minWritableBytes >= 0, "Invalid minWritableBytes: %s", minWritableBytes);
+        if (minWritableBytes <= writableBytes()) {
+            return this;
+        }
+        if (!growable) {
+            throw new IndexOutOfBoundsException(
+                    "writerIndex(" + writerIndex + ") + " + minWritableBytes + " exceeds capacity(" + capacity + ")");
+        }
+        int readable = readableBytes();
+        int required = readable + minWritableBytes;
+        if (required < 0) {
+            throw new OutOfMemoryError("Required capacity exceeds 2^31");
+        }
+        if (required <= capacity) {
+            return compact();
+        }
+        int newCapacity = Math.max(required, Math.max(capacity << 1, 16));
+        if (newCapacity < 0) {
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+        byte[] newArray = new byte[newCapacity];
+        System.arraycopy(array, base + readerIndex, newArray, 0, readable);
+        array = newArray;
+        capacity = newCapacity;
+        readerIndex = 0;
+        writerIndex = readable;
+        return this;
+    }
+
+    // ---------------------------------------------------------------- write
+
+    public ByteBuf writeByte(int value) {
+        ensureWritable(1);
+        array[base + writerIndex++] = (byte) value;
+        return this;
+    }
+
+    public ByteBuf writeBytes(byte[] src) {
+        return writeBytes(src, 0, src.length);
+    }
+
+    public ByteBuf writeBytes(byte[] src, int offset, int length) {
+        Preconditions.checkPositionIndexes(offset, offset + length, src.length);
+        ensureWritable(length);
+        System.arraycopy(src, offset, array, base + writerIndex, length);
+        writerIndex += length;
+        return this;
+    }
+
+    /**
+     * Write the bytes between the position and the limit of {@code src}, advancing
+     * its position to the limit.
+     *
+     * @param src heap or direct buffer
+     * @return
+     */
+    public ByteBuf writeBytes(ByteBuffer src) {
+        int length = src.remaining();
+        ensureWritable(length);
+        src.get(array, base + writerIndex, length);
+        writerIndex += length;
+        return this;
+    }
+
+    /**
+     * Write the readable bytes of {@code src}, advancing its reader index.
+     *
+     * @param src
+     * @return
+     */
+    public ByteBuf writeBytes(ByteBuf src) {
+        int length = src.readableBytes();
+        writeBytes(src.array, src.base + src.readerIndex, length);
+        src.readerIndex += length;
+        return this;
+    }
+
+    public ByteBuf writeShort(int value, ENDIAN endian) {
+        ensureWritable(2);
+        put(writerIndex, value, 2, endian);
+        writerIndex += 2;
+        return this;
+    }
+
+    public ByteBuf writeInt(int value, ENDIAN endian) {
+        ensureWritable(4);
+        put(writerIndex, value, 4, endian);
+        writerIndex += 4;
+        return this;
+    }
+
+    public ByteBuf writeLong(long value, ENDIAN endian) {
+        ensureWritable(8);
+        put(writerIndex, value, 8, endian);
+        writerIndex += 8;
+        return this;
+    }
+
+    // ---------------------------------------------------------------- read
+
+    public byte readByte() {
+        checkReadable(1);
+        return array[base + readerIndex++];
+    }
+
+    public int readUnsignedByte() {
+        return readByte() & 0xFF;
+    }
+
+    /**
+     * Read {@code length} bytes into a new array.
+     *
+     * @param length
+     * @return
+     */
+    public byte[] readBytes(int length) {
+        byte[] dst = new byte[length];
+        readBytes(dst, 0, length);
+        return dst;
+    }
+
+    public ByteBuf readBytes(byte[] dst, int offset, int length) {
+        Preconditions.checkPositionIndexes(offset, offset + length, dst.length);
+        checkReadable(length);
+        System.arraycopy(array, base + readerIndex, dst, offset, length);
+        readerIndex += length;
+        return this;
+    }
+
+    /**
+     * Read as many bytes as fit between the position and the limit of
+     * {@code dst}, advancing its position.
+     *
+     * @param dst heap or direct buffer
+     * @return the number of bytes read
+     */
+    public int readBytes(ByteBuffer dst) {
+        int length = Math.min(readableBytes(), dst.remaining());
+        dst.put(array, base + readerIndex, length);
+        readerIndex += length;
+        return length;
+    }
+
+    /**
+     * Return a slice of the next {@code length} readable bytes without copying
+     * and advance the reader index past them.
+     *
+     * @param length
+     * @return
+     */
+    public ByteBuf readSlice(int length) {
+        checkReadable(length);
+        ByteBuf slice = slice(readerIndex, length);
+        readerIndex += length;
+        return slice;
+    }
+
+    public ByteBuf skipBytes(int length) {
+        checkReadable(length);
+        readerIndex += length;
+        return this;
+    }
+
+    public short readShort(ENDIAN endian) {
+        checkReadable(2);
+        short value = getShort(readerIndex, endian);
+        readerIndex += 2;
+        return value;
+    }
+
+    public int readUnsignedShort(ENDIAN endian) {
+        return readShort(endian) & 0xFFFF;
+    }
+
+    public int readInt(ENDIAN endian) {
+        checkReadable(4);
+        int value = getInt(readerIndex, endian);
+        readerIndex += 4;
+        return value;
+    }
+
+    public long readUnsignedInt(ENDIAN endian) {
+        return readInt(endian) & 0xFFFFFFFFL;
+    }
+
+    public long readLong(ENDIAN endian) {
+        checkReadable(8);
+        long value = getLong(readerIndex, endian);
+        readerIndex += 8;
+        return value;
+    }
+
+    // ---------------------------------------------------------------- absolute
+
+    public byte getByte(int index) {
+        checkIndex(index, 1);
+        return array[base + index];
+    }
+
+    public ByteBuf setByte(int index, int value) {
+        checkIndex(index, 1);
+        array[base + index] = (byte) value;
+        return this;
+    }
+
+    public short getShort(int index, ENDIAN endian) {
+        return (short) get(index, 2, endian);
+    }
+
+    public int getUnsignedShort(int index, ENDIAN endian) {
+        return getShort(index, endian) & 0xFFFF;
+    }
+
+    public int getInt(int index, ENDIAN endian) {
+        return (int) get(index, 4, endian);
+    }
+
+    public long getUnsignedInt(int index, ENDIAN endian) {
+        return getInt(index, endian) & 0xFFFFFFFFL;
+    }
+
+    public long getLong(int index, ENDIAN endian) {
+        return get(index, 8, endian);
+    }
+
+    public ByteBuf setShort(int index, int value, ENDIAN endian) {
+        put(index, value, 2, endian);
+        return this;
+    }
+
+    public ByteBuf setInt(int index, int value, ENDIAN endian) {
+        put(index, value, 4, endian);
+        return this;
+    }
+
+    public ByteBuf setLong(int index, long value, ENDIAN endian) {
+        put(index, value, 8, endian);
+        return this;
+    }
+
+    // ---------------------------------------------------------------- views
+
+    /**
+     * A slice of the readable bytes. See {@link #slice(int, int)}.
+     *
+     * @return
+     */
+    public ByteBuf slice() {
+        return slice(readerIndex, readableBytes());
+    }
+
+    /**
+     * A view of {@code [index, index + length)} sharing this buffer's storage,
+     * with its reader index at 0 and writer index at {@code length}. Changes to
+     * the content are visible in both; the slice cannot grow. Growing this buffer
+     * detaches the slice, which keeps the old storage. Compacting it, directly or
+     * through {@link #ensureWritable}, moves bytes within the shared storage and
+     * invalidates the slice, which then sees shifted content.
+     *
+     * @param index
+     * @param length
+     * @return
+     */
+    public ByteBuf slice(int index, int length) {
+        checkIndex(index, length);
+        ByteBuf slice = new ByteBuf(array, base + index, length, false);
+        slice.writerIndex = length;
+        return slice;
+    }
+
+    /**
+     * A {@link ByteBuffer} view of the readable bytes, sharing storage.
+     *
+     * @return
+     */
+    public ByteBuffer nioBuffer() {
+        return ByteBuffer.wrap(array, base + readerIndex, readableBytes()).slice();
+    }
+
+    /**
+     * Copy the readable bytes into a new array.
+     *
+     * @return
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(array, base + readerIndex, base + writerIndex);
+    }
+
+    /**
+     * Index of the first occurrence of {@code pattern} in the readable bytes, or
+     * {@code -1}.
+     *
+     * @param pattern
+     * @return
+     */
+    public int indexOf(BytePattern pattern) {
+        int index = pattern.indexOf(array, base + readerIndex, base + writerIndex);
+        return index < 0 ? -1 : index - base;
+    }
+
+    /**
+     * Hex of the readable bytes.
+     *
+     * @return
+     */
+    public String toHexString() {
+        return Bytes.appendHex(new StringBuilder(readableBytes() * 2), array, base + readerIndex, readableBytes())
+                .toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBuf(ridx: " + readerIndex + ", widx: " + writerIndex + ", cap: " + capacity + ")";
+    }
+
+    private long get(int index, int length, ENDIAN endian) {
+        checkIndex(index, length);
+        return Bytes.getUnsigned(array, base + index, length, endian);
+    }
+
+    private void put(int index, long value, int length, ENDIAN endian) {
+        checkIndex(index, length);
+        Bytes.putUnsigned(array, base + index, value, length, endian);
+    }
+
+    private void checkIndex(int index, int length) {
+        if (index < 0 || length < 0 || index > capacity - length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length + " (capacity: " + capacity + ")");
+        }
+    }
+
+    private void checkReadable(int length) {
+        if (length < 0 || length > readableBytes()) {
+            throw new IndexOutOfBoundsException("length: " + length + " (readable: " + readableBytes() + ")");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package aura.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of {@link ByteBuf}s.
+ * <p>
+ * {@link #acquire()} returns a cleared buffer, reusing a released one when
+ * available, so steady-state framing allocates nothing. At most
+ * {@code maxPooled} buffers are retained, and buffers that grew beyond
+ * {@code maxRetainedCapacity} are dropped to bound the pool's footprint.
+ * Instances are thread-safe.
+ *
+ * @see ByteBuf
+ */
+public final class ByteBufPool {
+
+    private final ArrayBlockingQueue<ByteBuf> pool;
+
+    private final int initialCapacity;
+
+    private final int maxRetainedCapacity;
+
+    /**
+     * @param maxPooled           the maximum number of retained buffers
+     * @param initialCapacity     the capacity of newly allocated buffers
+     * @param maxRetainedCapacity the largest capacity a released buffer may have
+     *                            to be retained
+     */
+    public ByteBufPool(int maxPooled, int initialCapacity, int maxRetainedCapacity) {
+        Preconditions.checkArgument(maxPooled > 0, "Invalid maxPooled: %s", maxPooled);
+        Preconditions.checkArgument(initialCapacity >= 0 && initialCapacity <= maxRetainedCapacity,
+                "Invalid capacity: %s, %s", initialCapacity, maxRetainedCapacity);
+        this.pool = new ArrayBlockingQueue<ByteBuf>(maxPooled);
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    /**
+     * Take an empty buffer from the pool, or allocate one.
+     *
+     * @return
+     */
+    public ByteBuf acquire() {
+        ByteBuf buf = pool.poll();
+        return buf != null ? buf : ByteBuf.allocate(initialCapacity);
+    }
+
+    /**
+     * Return a buffer to the pool. The caller must not use it afterwards.
+     *
+     * @param buf a buffer obtained from {@link #acquire()}
+     * @return whether the buffer was retained
+     */
+    public boolean release(ByteBuf buf) {
+        Preconditions.checkArgument(buf.isGrowable(), "slices cannot be pooled");
+        if (buf.capacity() > maxRetainedCapacity) {
+            return false;
+        }
+        buf.clear();
+        return pool.offer(buf);
+    }
+
+    /**
+     * The number of idle buffers.
+     *
+     * @return
+     */
+    public int size() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,155 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A precompiled byte sequence for repeated searching with the
+ * Boyer-Moore-Horspool algorithm.
+ * <p>
+ * Compiling builds a 256-entry skip table once, so searching large arrays
+ * skips up to {@code pattern.length} bytes per step instead of comparing at
+ * every index. Instances are immutable and thread-safe.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * BytePattern sync = BytePattern.compile((byte) 0xAA, (byte) 0x55);
+ * int index = sync.indexOf(stream, 0, stream.length);
+ * }
+ * </pre>
+ *
+ * @see Bytes#indexOf(byte[], byte[])
+ * @see MultiPattern
+ */
+public final class BytePattern {
+
+    private final byte[] pattern;
+
+    /**
+     * Shift distance for each value of the byte aligned with the pattern end.
+     */
+    private final int[] skip;
+
+    private BytePattern(byte[] pattern) {
+        this.pattern = pattern;
+        this.skip = new int[256];
+        int length = pattern.length;
+        Arrays.fill(skip, Math.max(length, 1));
+        for (int i = 0; i < length - 1; i++) {
+            skip[pattern[i] & 0xFF] = length - 1 - i;
+        }
+    }
+
+    /**
+     * Compile a byte sequence.
+     *
+     * @param pattern the sequence to search for, copied
+     * @return the compiled pattern
+     */
+    public static BytePattern compile(byte... pattern) {
+        Preconditions.checkNotNull(pattern, "pattern");
+        return new BytePattern(pattern.clone());
+    }
+
+    /**
+     * The length of the pattern.
+     *
+     * @return
+     */
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Returns the start position of the first occurrence of the pattern within
+     * {@code array}, or {@code -1} if there is no such occurrence.
+     *
+     * @param array the array to search
+     * @return the least matching index, or {@code -1}
+     */
+    public int indexOf(byte[] array) {
+        return indexOf(array, 0, array.length);
+    }
+
+    /**
+     * Returns the start position of the first occurrence of the pattern that lies
+     * entirely within {@code array[fromIndex, toIndex)}, or {@code -1} if there is
+     * no such occurrence.
+     *
+     * @param array     the array to search
+     * @param fromIndex the first index to search, inclusive
+     * @param toIndex   the end of the range, exclusive
+     * @return the least matching index, or {@code -1}
+     * @throws IndexOutOfBoundsException if the range is out of {@code array}
+     */
+    public int indexOf(byte[] array, int fromIndex, int toIndex) {
+        Preconditions.checkPositionIndexes(fromIndex, toIndex, array.length);
+        int length = pattern.length;
+        if (length == 0) {
+            return fromIndex;
+        }
+        int last = length - 1;
+        byte lastByte = pattern[last];
+        int end = toIndex - length;
+        int i = fromIndex;
+        while (i <= end) {
+            byte b = array[i + last];
+            if (b == lastByte && matches(array, i, last)) {
+                return i;
+            }
+            i += skip[b & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the absolute index of the first occurrence of the pattern between
+     * the position and the limit of {@code buffer}, or {@code -1} if there is no
+     * such occurrence. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to search, heap or direct
+     * @return the least matching absolute index, or {@code -1}
+     */
+    public int indexOf(ByteBuffer buffer) {
+        int fromIndex = buffer.position();
+        int toIndex = buffer.limit();
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int index = indexOf(buffer.array(), offset + fromIndex, offset + toIndex);
+            return index < 0 ? -1 : index - offset;
+        }
+        int length = pattern.length;
+        if (length == 0) {
+            return fromIndex;
+        }
+        int last = length - 1;
+        byte lastByte = pattern[last];
+        int end = toIndex - length;
+        int i = fromIndex;
+        outer: while (i <= end) {
+            byte b = buffer.get(i + last);
+            if (b == lastByte) {
+                for (int j = 0; j < last; j++) {
+                    if (buffer.get(i + j) != pattern[j]) {
+                        i += skip[b & 0xFF];
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            i += skip[b & 0xFF];
+        }
+        return -1;
+    }
+
+    private boolean matches(byte[] array, int start, int length) {
+        for (int j = 0; j < length; j++) {
+            if (array[start + j] != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,9 @@
 package aura.data;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -11,6 +14,51 @@ import java.util.RandomAccess;
 
 public class Bytes {
 
+    /**
+     * Upper case hex digits indexed by nibble value.
+     */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Marks a character that is not a hex digit in {@link #HEX_VALUES}.
+     */
+    private static final byte HEX_INVALID = -1;
+
+    /**
+     * Marks a whitespace or separator character in {@link #HEX_VALUES}.
+     */
+    private static final byte HEX_SEPARATOR = -2;
+
+    /**
+     * Nibble value of each ASCII character, or {@link #HEX_INVALID} /
+     * {@link #HEX_SEPARATOR}.
+     */
+    static final byte[] HEX_VALUES = new byte[256];
+
+    /**
+     * Range length from which building a skip table pays off.
+     */
+    private static final int HORSPOOL_THRESHOLD = 256;
+
+    /**
+     * Range length from which bytes are processed a {@code long} at a time.
+     */
+    private static final int WORD_THRESHOLD = 16;
+
+    static {
+        Arrays.fill(HEX_VALUES, HEX_INVALID);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+        for (char c : " \t\r\n:-,;".toCharArray()) {
+            HEX_VALUES[c] = HEX_SEPARATOR;
+        }
+    }
+
     private Bytes() {
     }
 
@@ -83,13 +131,40 @@ public class Bytes {
      * @param target the array to search for as a sub-sequence of {@code array}
      */
     public static int indexOf(byte[] array, byte[] target) {
+        Preconditions.checkNotNull(array, "array");
+        return indexOf(array, target, 0, array.length);
+    }
+
+    /**
+     * Returns the start position of the first occurrence of the specified
+     * {@code target} that lies entirely within {@code array[fromIndex, toIndex)},
+     * or {@code -1} if there is no such occurrence.
+     * <p>
+     * Long ranges are searched with Boyer-Moore-Horspool; compile a
+     * {@link BytePattern} instead when the same {@code target} is searched
+     * repeatedly.
+     *
+     * @param array     the array to search for the sequence {@code target}
+     * @param target    the array to search for as a sub-sequence of {@code array}
+     * @param fromIndex the first index to search, inclusive
+     * @param toIndex   the end of the range, exclusive
+     * @throws IndexOutOfBoundsException if the range is out of {@code array}
+     */
+    public static int indexOf(byte[] array, byte[] target, int fromIndex, int toIndex) {
         Preconditions.checkNotNull(array, "array");
         Preconditions.checkNotNull(target, "target");
+        Preconditions.checkPositionIndexes(fromIndex, toIndex, array.length);
         if (target.length == 0) {
-            return 0;
+            return fromIndex;
+        }
+        if (target.length == 1) {
+            return indexOf(array, target[0], fromIndex, toIndex);
+        }
+        if (toIndex - fromIndex >= HORSPOOL_THRESHOLD) {
+            return BytePattern.compile(target).indexOf(array, fromIndex, toIndex);
         }
 
-        outer: for (int i = 0; i < array.length - target.length + 1; i++) {
+        outer: for (int i = fromIndex; i <= toIndex - target.length; i++) {
             for (int j = 0; j < target.length; j++) {
                 if (array[i + j] != target[j]) {
                     continue outer;
@@ -259,6 +334,7 @@ public class Bytes {
      *
      * @param backingArray the array to back the list
      * @return a list view of the array
+     * @see ByteArrayList
      */
     public static List<Byte> asList(byte... backingArray) {
         if (backingArray.length == 0) {
@@ -468,18 +544,82 @@ public class Bytes {
      * @see #fromHexString(String)
      */
     public static String toHexString(byte[] data, String separator) {
-        StringBuilder buffer = new StringBuilder();
+        if (data.length == 0) {
+            return "";
+        }
+        if (Strings.isNullOrEmpty(separator)) {
+            char[] chars = new char[data.length << 1];
+            toHex(data, 0, data.length, chars);
+            return new String(chars);
+        }
 
+        int separatorLength = separator.length();
+        char[] chars = new char[(data.length << 1) + (data.length - 1) * separatorLength];
+        int pos = 0;
         for (int i = 0; i < data.length; i++) {
-            buffer.append(String.format("%02x", data[i]).toUpperCase());
-
-            // not insert separator after the last
-            if (!Strings.isNullOrEmpty(separator) && i < data.length - 1) {
-                buffer.append(separator);
+            // not insert separator before the first
+            if (i > 0) {
+                separator.getChars(0, separatorLength, chars, pos);
+                pos += separatorLength;
             }
+            int v = data[i] & 0xFF;
+            chars[pos++] = HEX_DIGITS[v >>> 4];
+            chars[pos++] = HEX_DIGITS[v & 0x0F];
         }
+        return new String(chars);
+    }
 
-        return buffer.toString();
+    /**
+     * Write the upper case hex characters of a byte array range into a char array
+     * starting at index 0.
+     * <p>
+     * Examples: <blockquote>
+     * 
+     * <pre>
+     * toHex(new byte[]{1, 32, 127}, 1, 2, dst) -> 4, dst starts with "207F"
+     * </pre>
+     * 
+     * </blockquote>
+     *
+     * @param data data.
+     * @param off  start index in {@code data}.
+     * @param len  number of bytes to convert.
+     * @param dst  destination, at least {@code 2 * len} long.
+     * @return the number of chars written, {@code 2 * len}.
+     * @throws IndexOutOfBoundsException if the range is out of {@code data} or
+     *                                   {@code dst} is too short
+     */
+    public static int toHex(byte[] data, int off, int len, char[] dst) {
+        Preconditions.checkPositionIndexes(off, off + len, data.length);
+        Preconditions.checkPositionIndex(len << 1, dst.length);
+        int pos = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            int v = data[i] & 0xFF;
+            dst[pos++] = HEX_DIGITS[v >>> 4];
+            dst[pos++] = HEX_DIGITS[v & 0x0F];
+        }
+        return pos;
+    }
+
+    /**
+     * Append the upper case hex characters of a byte array range to a
+     * {@link StringBuilder} without copying the range.
+     *
+     * @param builder destination.
+     * @param data    data.
+     * @param off     start index in {@code data}.
+     * @param len     number of bytes to append.
+     * @return {@code builder}.
+     * @throws IndexOutOfBoundsException if the range is out of {@code data}
+     */
+    public static StringBuilder appendHex(StringBuilder builder, byte[] data, int off, int len) {
+        Preconditions.checkPositionIndexes(off, off + len, data.length);
+        builder.ensureCapacity(builder.length() + (len << 1));
+        for (int i = off, end = off + len; i < end; i++) {
+            int v = data[i] & 0xFF;
+            builder.append(HEX_DIGITS[v >>> 4]).append(HEX_DIGITS[v & 0x0F]);
+        }
+        return builder;
     }
 
     /**
@@ -566,30 +706,184 @@ public class Bytes {
      * @see #fromHexString(String, int)
      */
     public static byte[] fromHexString(String data, ALIGN align, char padding) {
-        byte[] result = new byte[(data.length() + 1) / 2];
-
-        // if the length of the string is odd.
-        if ((data.length() & 0x1) == 1) {
-            // if yes, then add "0" on the right(low bit).
-            // actually, it may not the perfect way to process odd string.
-            switch (align) {
-                case ALIGN_RIGHT:
-                    data = padding + data;
-                    break;
-                case ALIGN_LEFT:
-                    data = data + padding;
-                    break;
-                default:
-                    throw new IllegalArgumentException("The length of data should be even");
-            }
+        int length = data.length();
+        byte[] result = new byte[(length + 1) / 2];
+
+        // if the length of the string is even.
+        if ((length & 0x1) == 0) {
+            decodeHex(data, 0, length, result, 0);
+            return result;
         }
 
-        for (int i = 0; i < result.length; i++) {
-            result[i] = ((byte) (fromHexAscii(data.charAt(i * 2 + 1)) | fromHexAscii(data.charAt(i * 2)) << 4));
+        // if not, then pad the padding character on the given side.
+        int pad = fromHexAscii(padding);
+        switch (align) {
+            case ALIGN_RIGHT:
+                result[0] = (byte) (pad << 4 | fromHexAscii(data.charAt(0)));
+                decodeHex(data, 1, length - 1, result, 1);
+                break;
+            case ALIGN_LEFT:
+                decodeHex(data, 0, length - 1, result, 0);
+                result[result.length - 1] = (byte) (fromHexAscii(data.charAt(length - 1)) << 4 | pad);
+                break;
+            default:
+                throw new IllegalArgumentException("The length of data should be even");
         }
         return result;
     }
 
+    /**
+     * Convert a hex string to a byte array, optionally skipping whitespace and the
+     * separators {@code ':'}, {@code '-'}, {@code ','} and {@code ';'}.
+     * <p>
+     * Examples:
+     * 
+     * <pre>
+     * {@code
+     * Bytes.fromHexString("01 20 7F", true) -> new byte[]{0x1, 0x20, 0x7F}
+     * Bytes.fromHexString("01:20:7f", true) -> new byte[]{0x1, 0x20, 0x7F}
+     * }
+     * </pre>
+     *
+     * @param data           hex characters.
+     * @param skipSeparators whether to skip whitespace and separators.
+     * @return hex byte array.
+     * @throws IllegalArgumentException if a character is not valid or the number
+     *                                  of hex digits is odd
+     */
+    public static byte[] fromHexString(CharSequence data, boolean skipSeparators) {
+        byte[] result = new byte[data.length() / 2];
+        int count = fromHexString(data, 0, data.length(), result, 0, skipSeparators);
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Decode a range of hex characters into a byte array. The number of hex
+     * digits in the range should be even.
+     *
+     * @param data      hex characters.
+     * @param offset    start index in {@code data}.
+     * @param length    number of characters to decode.
+     * @param dst       destination.
+     * @param dstOffset start index in {@code dst}.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException  if a character is not valid or the number
+     *                                   of hex digits is odd
+     * @throws IndexOutOfBoundsException if {@code dst} is too short
+     */
+    public static int fromHexString(CharSequence data, int offset, int length, byte[] dst, int dstOffset) {
+        return fromHexString(data, offset, length, dst, dstOffset, false);
+    }
+
+    /**
+     * Decode a range of hex characters into a byte array in one pass, optionally
+     * skipping whitespace and separators.
+     *
+     * @param data           hex characters.
+     * @param offset         start index in {@code data}.
+     * @param length         number of characters to decode.
+     * @param dst            destination.
+     * @param dstOffset      start index in {@code dst}.
+     * @param skipSeparators whether to skip whitespace and separators.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException  if a character is not valid or the number
+     *                                   of hex digits is odd
+     * @throws IndexOutOfBoundsException if {@code dst} is too short
+     * @see #fromHexString(CharSequence, boolean)
+     */
+    public static int fromHexString(CharSequence data, int offset, int length, byte[] dst, int dstOffset,
+            boolean skipSeparators) {
+        Preconditions.checkPositionIndexes(offset, offset + length, data.length());
+        if (!skipSeparators) {
+            if ((length & 0x1) == 1) {
+                throw new IllegalArgumentException("The length of data should be even");
+            }
+            Preconditions.checkPositionIndexes(dstOffset, dstOffset + (length >> 1), dst.length);
+            decodeHex(data, offset, length, dst, dstOffset);
+            return length >> 1;
+        }
+        int pos = dstOffset;
+        int high = -1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int value = hexValue(data.charAt(i));
+            if (value >= 0) {
+                if (high < 0) {
+                    high = value;
+                } else {
+                    dst[pos++] = (byte) (high << 4 | value);
+                    high = -1;
+                }
+            } else if (value != HEX_SEPARATOR) {
+                throw new IllegalArgumentException("The hex char in the argument is not valid.");
+            }
+        }
+        if (high >= 0) {
+            throw new IllegalArgumentException("The number of hex digits should be even");
+        }
+        return pos - dstOffset;
+    }
+
+    /**
+     * Decode a range of hex characters into a {@link ByteBuffer} at its position,
+     * optionally skipping whitespace and separators. The position is advanced by
+     * the number of bytes written.
+     *
+     * @param data           hex characters.
+     * @param offset         start index in {@code data}.
+     * @param length         number of characters to decode.
+     * @param dst            destination.
+     * @param skipSeparators whether to skip whitespace and separators.
+     * @return the number of bytes written.
+     * @throws IllegalArgumentException if a character is not valid or the number
+     *                                  of hex digits is odd
+     * @throws BufferOverflowException  if {@code dst} has not enough remaining
+     */
+    public static int fromHexString(CharSequence data, int offset, int length, ByteBuffer dst,
+            boolean skipSeparators) {
+        Preconditions.checkPositionIndexes(offset, offset + length, data.length());
+        int start = dst.position();
+        int high = -1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int value = hexValue(data.charAt(i));
+            if (value >= 0) {
+                if (high < 0) {
+                    high = value;
+                } else {
+                    dst.put((byte) (high << 4 | value));
+                    high = -1;
+                }
+            } else if (!skipSeparators || value != HEX_SEPARATOR) {
+                throw new IllegalArgumentException("The hex char in the argument is not valid.");
+            }
+        }
+        if (high >= 0) {
+            throw new IllegalArgumentException("The number of hex digits should be even");
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * Decode an even range of hex digits without separators.
+     */
+    private static void decodeHex(CharSequence data, int offset, int length, byte[] dst, int dstOffset) {
+        for (int i = offset, end = offset + length, pos = dstOffset; i < end; i += 2) {
+            int high = hexValue(data.charAt(i));
+            int low = hexValue(data.charAt(i + 1));
+            // any negative marker makes the or negative
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("The hex char in the argument is not valid.");
+            }
+            dst[pos++] = (byte) (high << 4 | low);
+        }
+    }
+
+    /**
+     * Nibble value of a character, or a negative marker.
+     */
+    private static int hexValue(char c) {
+        return c < 256 ? HEX_VALUES[c] : HEX_INVALID;
+    }
+
     /**
      * A ascii character to it's value.
      * <p>
@@ -612,19 +906,11 @@ public class Bytes {
      * @see #fromHexString(String)
      */
     static byte fromHexAscii(char ascii) {
-        if ((ascii <= 'f') && (ascii >= 'a')) {
-            return (byte) (ascii - 'a' + 10);
-        }
-
-        if ((ascii <= 'F') && (ascii >= 'A')) {
-            return (byte) (ascii - 'A' + 10);
-        }
-
-        if ((ascii <= '9') && (ascii >= '0')) {
-            return (byte) (ascii - '0');
+        int value = hexValue(ascii);
+        if (value < 0) {
+            throw new IllegalArgumentException("The hex char in the argument is not valid.");
         }
-
-        throw new IllegalArgumentException("The hex char in the argument is not valid.");
+        return (byte) value;
     }
 
     /**
@@ -880,6 +1166,346 @@ public class Bytes {
         return bytes;
     }
 
+    /**
+     * Read {@code length} bytes at {@code offset} as an unsigned integer, without
+     * copying. Often used for length fields.
+     *
+     * @param buf    the source
+     * @param offset the index of the first byte
+     * @param length the number of bytes, 1 to 8; with 8 the result is the signed
+     *               {@code long}
+     * @param endian the byte order
+     * @return
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code buf}
+     */
+    public static long getUnsigned(byte[] buf, int offset, int length, ENDIAN endian) {
+        Preconditions.checkArgument(length >= 1 && length <= 8, "Invalid length: %s", length);
+        Preconditions.checkPositionIndexes(offset, offset + length, buf.length);
+        long value = 0;
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            for (int i = offset + length - 1; i >= offset; i--) {
+                value = (value << 8) | (buf[i] & 0xFF);
+            }
+        } else {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                value = (value << 8) | (buf[i] & 0xFF);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Write the low {@code length} bytes of {@code value} at {@code offset}.
+     *
+     * @param buf    the destination
+     * @param offset the index of the first byte
+     * @param value  the value, higher bytes are ignored
+     * @param length the number of bytes, 1 to 8
+     * @param endian the byte order
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code buf}
+     */
+    public static void putUnsigned(byte[] buf, int offset, long value, int length, ENDIAN endian) {
+        Preconditions.checkArgument(length >= 1 && length <= 8, "Invalid length: %s", length);
+        Preconditions.checkPositionIndexes(offset, offset + length, buf.length);
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                buf[i] = (byte) value;
+                value >>>= 8;
+            }
+        } else {
+            for (int i = offset + length - 1; i >= offset; i--) {
+                buf[i] = (byte) value;
+                value >>>= 8;
+            }
+        }
+    }
+
+    /**
+     * Read a {@code short} at {@code offset} without copying.
+     *
+     * @param buf    the source
+     * @param offset the index of the first byte
+     * @param endian the byte order
+     * @return
+     */
+    public static short getShort(byte[] buf, int offset, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            return (short) ((buf[offset + 1] << 8) | (buf[offset] & 0xFF));
+        }
+        return (short) ((buf[offset] << 8) | (buf[offset + 1] & 0xFF));
+    }
+
+    public static int getUnsignedShort(byte[] buf, int offset, ENDIAN endian) {
+        return getShort(buf, offset, endian) & 0xFFFF;
+    }
+
+    /**
+     * Read a 24-bit two's complement integer at {@code offset} without copying.
+     *
+     * @param buf    the source
+     * @param offset the index of the first byte
+     * @param endian the byte order
+     * @return the value, sign-extended
+     */
+    public static int getInt24(byte[] buf, int offset, ENDIAN endian) {
+        return (getUnsignedInt24(buf, offset, endian) << 8) >> 8;
+    }
+
+    public static int getUnsignedInt24(byte[] buf, int offset, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            return (buf[offset + 2] & 0xFF) << 16 | (buf[offset + 1] & 0xFF) << 8 | (buf[offset] & 0xFF);
+        }
+        return (buf[offset] & 0xFF) << 16 | (buf[offset + 1] & 0xFF) << 8 | (buf[offset + 2] & 0xFF);
+    }
+
+    /**
+     * Read an {@code int} at {@code offset} without copying.
+     * <p>
+     * Examples:
+     * 
+     * <pre>
+     * {@code
+     * int count = Bytes.getInt(frame, 3, ENDIAN.LITTLE_ENDIAN);
+     * }
+     * </pre>
+     *
+     * @param buf    the source
+     * @param offset the index of the first byte
+     * @param endian the byte order
+     * @return
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code buf}
+     * @see #toInt(byte[], ENDIAN)
+     */
+    public static int getInt(byte[] buf, int offset, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            return buf[offset + 3] << 24 | (buf[offset + 2] & 0xFF) << 16 | (buf[offset + 1] & 0xFF) << 8
+                    | (buf[offset] & 0xFF);
+        }
+        return buf[offset] << 24 | (buf[offset + 1] & 0xFF) << 16 | (buf[offset + 2] & 0xFF) << 8
+                | (buf[offset + 3] & 0xFF);
+    }
+
+    public static long getUnsignedInt(byte[] buf, int offset, ENDIAN endian) {
+        return getInt(buf, offset, endian) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Read a {@code long} at {@code offset} without copying.
+     *
+     * @param buf    the source
+     * @param offset the index of the first byte
+     * @param endian the byte order
+     * @return
+     */
+    public static long getLong(byte[] buf, int offset, ENDIAN endian) {
+        long high = getInt(buf, endian == ENDIAN.LITTLE_ENDIAN ? offset + 4 : offset, endian);
+        long low = getInt(buf, endian == ENDIAN.LITTLE_ENDIAN ? offset : offset + 4, endian) & 0xFFFFFFFFL;
+        return high << 32 | low;
+    }
+
+    public static float getFloat(byte[] buf, int offset, ENDIAN endian) {
+        return Float.intBitsToFloat(getInt(buf, offset, endian));
+    }
+
+    public static double getDouble(byte[] buf, int offset, ENDIAN endian) {
+        return Double.longBitsToDouble(getLong(buf, offset, endian));
+    }
+
+    /**
+     * Write a {@code short} at {@code offset} without allocating.
+     *
+     * @param buf    the destination
+     * @param offset the index of the first byte
+     * @param value  the value, only the low 16 bits are written
+     * @param endian the byte order
+     */
+    public static void putShort(byte[] buf, int offset, int value, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset] = (byte) value;
+        } else {
+            buf[offset] = (byte) (value >> 8);
+            buf[offset + 1] = (byte) value;
+        }
+    }
+
+    /**
+     * Write the low 24 bits of {@code value} at {@code offset}.
+     *
+     * @param buf    the destination
+     * @param offset the index of the first byte
+     * @param value  the value
+     * @param endian the byte order
+     */
+    public static void putInt24(byte[] buf, int offset, int value, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            buf[offset + 2] = (byte) (value >> 16);
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset] = (byte) value;
+        } else {
+            buf[offset] = (byte) (value >> 16);
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset + 2] = (byte) value;
+        }
+    }
+
+    /**
+     * Write an {@code int} at {@code offset} without allocating.
+     *
+     * @param buf    the destination
+     * @param offset the index of the first byte
+     * @param value  the value
+     * @param endian the byte order
+     * @see #fromInt(int, int, ENDIAN)
+     */
+    public static void putInt(byte[] buf, int offset, int value, ENDIAN endian) {
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            buf[offset + 3] = (byte) (value >> 24);
+            buf[offset + 2] = (byte) (value >> 16);
+            buf[offset + 1] = (byte) (value >> 8);
+            buf[offset] = (byte) value;
+        } else {
+            buf[offset] = (byte) (value >> 24);
+            buf[offset + 1] = (byte) (value >> 16);
+            buf[offset + 2] = (byte) (value >> 8);
+            buf[offset + 3] = (byte) value;
+        }
+    }
+
+    public static void putLong(byte[] buf, int offset, long value, ENDIAN endian) {
+        int high = (int) (value >>> 32);
+        int low = (int) value;
+        if (endian == ENDIAN.LITTLE_ENDIAN) {
+            putInt(buf, offset, low, endian);
+            putInt(buf, offset + 4, high, endian);
+        } else {
+            putInt(buf, offset, high, endian);
+            putInt(buf, offset + 4, low, endian);
+        }
+    }
+
+    public static void putFloat(byte[] buf, int offset, float value, ENDIAN endian) {
+        putInt(buf, offset, Float.floatToRawIntBits(value), endian);
+    }
+
+    public static void putDouble(byte[] buf, int offset, double value, ENDIAN endian) {
+        putLong(buf, offset, Double.doubleToRawLongBits(value), endian);
+    }
+
+    /**
+     * Read a {@code short} at an absolute {@code index} of {@code buf} in the
+     * given byte order, whatever {@link ByteBuffer#order()} is. The buffer is not
+     * modified.
+     *
+     * @param buf    heap or direct buffer
+     * @param index  the absolute index of the first byte
+     * @param endian the byte order
+     * @return
+     */
+    public static short getShort(ByteBuffer buf, int index, ENDIAN endian) {
+        short value = buf.getShort(index);
+        return matches(buf, endian) ? value : Short.reverseBytes(value);
+    }
+
+    public static int getUnsignedShort(ByteBuffer buf, int index, ENDIAN endian) {
+        return getShort(buf, index, endian) & 0xFFFF;
+    }
+
+    /**
+     * Read a 24-bit two's complement integer at an absolute {@code index} of
+     * {@code buf}. The buffer is not modified.
+     *
+     * @param buf    heap or direct buffer
+     * @param index  the absolute index of the first byte
+     * @param endian the byte order
+     * @return the value, sign-extended
+     */
+    public static int getInt24(ByteBuffer buf, int index, ENDIAN endian) {
+        return (getUnsignedInt24(buf, index, endian) << 8) >> 8;
+    }
+
+    public static int getUnsignedInt24(ByteBuffer buf, int index, ENDIAN endian) {
+        int b0 = buf.get(index) & 0xFF;
+        int b1 = buf.get(index + 1) & 0xFF;
+        int b2 = buf.get(index + 2) & 0xFF;
+        return endian == ENDIAN.LITTLE_ENDIAN ? b2 << 16 | b1 << 8 | b0 : b0 << 16 | b1 << 8 | b2;
+    }
+
+    /**
+     * Read an {@code int} at an absolute {@code index} of {@code buf} in the given
+     * byte order, whatever {@link ByteBuffer#order()} is. The buffer is not
+     * modified.
+     *
+     * @param buf    heap or direct buffer
+     * @param index  the absolute index of the first byte
+     * @param endian the byte order
+     * @return
+     */
+    public static int getInt(ByteBuffer buf, int index, ENDIAN endian) {
+        int value = buf.getInt(index);
+        return matches(buf, endian) ? value : Integer.reverseBytes(value);
+    }
+
+    public static long getUnsignedInt(ByteBuffer buf, int index, ENDIAN endian) {
+        return getInt(buf, index, endian) & 0xFFFFFFFFL;
+    }
+
+    public static long getLong(ByteBuffer buf, int index, ENDIAN endian) {
+        long value = buf.getLong(index);
+        return matches(buf, endian) ? value : Long.reverseBytes(value);
+    }
+
+    public static float getFloat(ByteBuffer buf, int index, ENDIAN endian) {
+        return Float.intBitsToFloat(getInt(buf, index, endian));
+    }
+
+    public static double getDouble(ByteBuffer buf, int index, ENDIAN endian) {
+        return Double.longBitsToDouble(getLong(buf, index, endian));
+    }
+
+    /**
+     * Write a {@code short} at an absolute {@code index} of {@code buf} in the
+     * given byte order, whatever {@link ByteBuffer#order()} is.
+     *
+     * @param buf    heap or direct buffer
+     * @param index  the absolute index of the first byte
+     * @param value  the value, only the low 16 bits are written
+     * @param endian the byte order
+     */
+    public static void putShort(ByteBuffer buf, int index, int value, ENDIAN endian) {
+        buf.putShort(index, matches(buf, endian) ? (short) value : Short.reverseBytes((short) value));
+    }
+
+    public static void putInt24(ByteBuffer buf, int index, int value, ENDIAN endian) {
+        boolean little = endian == ENDIAN.LITTLE_ENDIAN;
+        buf.put(index, (byte) (little ? value : value >> 16));
+        buf.put(index + 1, (byte) (value >> 8));
+        buf.put(index + 2, (byte) (little ? value >> 16 : value));
+    }
+
+    public static void putInt(ByteBuffer buf, int index, int value, ENDIAN endian) {
+        buf.putInt(index, matches(buf, endian) ? value : Integer.reverseBytes(value));
+    }
+
+    public static void putLong(ByteBuffer buf, int index, long value, ENDIAN endian) {
+        buf.putLong(index, matches(buf, endian) ? value : Long.reverseBytes(value));
+    }
+
+    public static void putFloat(ByteBuffer buf, int index, float value, ENDIAN endian) {
+        putInt(buf, index, Float.floatToRawIntBits(value), endian);
+    }
+
+    public static void putDouble(ByteBuffer buf, int index, double value, ENDIAN endian) {
+        putLong(buf, index, Double.doubleToRawLongBits(value), endian);
+    }
+
+    /**
+     * Whether the buffer's own order is {@code endian}.
+     */
+    private static boolean matches(ByteBuffer buf, ENDIAN endian) {
+        return (buf.order() == ByteOrder.LITTLE_ENDIAN) == (endian == ENDIAN.LITTLE_ENDIAN);
+    }
+
     /**
      * Shrink a ascii byte array to hex array.
      * <p>
@@ -987,29 +1613,73 @@ public class Bytes {
         if (a.length != b.length) {
             throw new IllegalArgumentException("the parameters length ara different.");
         }
-        byte[] xor = new byte[a.length];
-        for (int i = 0; i < xor.length; i++) {
-            xor[i] = xor(a[i], b[i]);
-        }
+        byte[] xor = a.clone();
+        xorInto(xor, 0, b, 0, b.length);
         return xor;
     }
 
+    /**
+     * XOR {@code src} into {@code dst} in place, {@code dst[i] ^= src[i]}.
+     *
+     * @param dst the array to modify
+     * @param src the mask, at least as long as {@code dst}
+     * @return {@code dst}
+     */
+    public static byte[] xorInto(byte[] dst, byte[] src) {
+        xorInto(dst, 0, src, 0, dst.length);
+        return dst;
+    }
+
+    /**
+     * XOR {@code src[off, off + len)} into {@code dst[off, off + len)} in place.
+     *
+     * @param dst the array to modify
+     * @param src the mask
+     * @param off the offset in both arrays
+     * @param len the number of bytes
+     */
+    public static void xorInto(byte[] dst, byte[] src, int off, int len) {
+        xorInto(dst, off, src, off, len);
+    }
+
+    /**
+     * XOR {@code src[srcOff, srcOff + len)} into {@code dst[dstOff, dstOff + len)}
+     * in place. Eight bytes are processed per step through {@code long} views of
+     * the arrays; {@code src} and {@code dst} may be the same array only if the
+     * ranges are identical or disjoint.
+     *
+     * @param dst    the array to modify
+     * @param dstOff the offset in {@code dst}
+     * @param src    the mask
+     * @param srcOff the offset in {@code src}
+     * @param len    the number of bytes
+     * @throws IndexOutOfBoundsException if a range is out of its array
+     */
+    public static void xorInto(byte[] dst, int dstOff, byte[] src, int srcOff, int len) {
+        Preconditions.checkPositionIndexes(dstOff, dstOff + len, dst.length);
+        Preconditions.checkPositionIndexes(srcOff, srcOff + len, src.length);
+        int i = 0;
+        if (len >= WORD_THRESHOLD) {
+            ByteBuffer d = ByteBuffer.wrap(dst).order(ByteOrder.nativeOrder());
+            ByteBuffer s = ByteBuffer.wrap(src).order(ByteOrder.nativeOrder());
+            for (int last = len - 8; i <= last; i += 8) {
+                d.putLong(dstOff + i, d.getLong(dstOff + i) ^ s.getLong(srcOff + i));
+            }
+        }
+        for (; i < len; i++) {
+            dst[dstOff + i] ^= src[srcOff + i];
+        }
+    }
+
     /***
      * check lrc
      * 
      * @param a
      * @return
+     * @see Checksums#lrc(byte[], int, int)
      */
     public static byte lrc(byte[] a) {
-        byte lrc = 0x00;
-        for (int i = 0; i < a.length; i++) {
-            if (i == 0) {
-                lrc = a[i];
-                continue;
-            }
-            lrc = xor(lrc, a[i]);
-        }
-        return lrc;
+        return Checksums.lrc(a, 0, a.length);
     }
 
     /**
@@ -1029,6 +1699,7 @@ public class Bytes {
      * 
      * @param data
      * @return
+     * @see BitReader
      */
     public static String toBitString(byte[] data) {
         StringBuffer buffer = new StringBuffer();
@@ -1044,6 +1715,7 @@ public class Bytes {
      * @param bit
      * @return
      * @throws IllegalAccessException
+     * @see BitWriter
      */
     public static byte[] bitString2Byte(String bit) throws IllegalArgumentException {
         if (Strings.isNullOrEmpty(bit) || bit.length() % 8 != 0) {
@@ -1122,4 +1794,23 @@ public class Bytes {
     public enum ALIGN {
         ALIGN_LEFT, ALIGN_RIGHT
     }
+
+    /**
+     * Bit order of packed bit fields.
+     *
+     * @see BitReader
+     * @see BitWriter
+     */
+    public enum BIT_ORDER {
+        /**
+         * Fields start at bit 7 of a byte and their first bit is the most
+         * significant, as in network protocols.
+         */
+        MSB_FIRST,
+        /**
+         * Fields start at bit 0 of a byte and their first bit is the least
+         * significant, as in little-endian C bit fields.
+         */
+        LSB_FIRST
+    }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Table-driven CRC and LRC checksums.
+ * <p>
+ * CRCs use slicing-by-8: eight 256-entry tables computed once per
+ * {@link Algorithm} let the inner loop consume eight bytes per step with
+ * independent table lookups instead of one dependent lookup per byte. The
+ * common serial protocol CRCs are predefined; other 8 to 32 bit CRCs can be
+ * described with {@link Algorithm#Algorithm(String, int, int, int, boolean, int)}.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * int crc = (int) Checksums.CRC16_MODBUS.checksum(frame, 0, frame.length - 2);
+ *
+ * Checksums.Crc crc32 = Checksums.CRC32.newCrc();
+ * crc32.update(head, 0, head.length);
+ * crc32.update(body, 0, body.length);
+ * long value = crc32.getValue();
+ * }
+ * </pre>
+ */
+public final class Checksums {
+
+    /**
+     * CRC-8, poly 0x07, init 0x00, check 0xF4.
+     */
+    public static final Algorithm CRC8 = new Algorithm("CRC-8", 8, 0x07, 0x00, false, 0x00);
+
+    /**
+     * CRC-16/MODBUS, poly 0x8005 reflected, init 0xFFFF, check 0x4B37. The value
+     * is transmitted low byte first.
+     */
+    public static final Algorithm CRC16_MODBUS = new Algorithm("CRC-16/MODBUS", 16, 0x8005, 0xFFFF, true, 0x0000);
+
+    /**
+     * CRC-16/CCITT-FALSE, poly 0x1021, init 0xFFFF, check 0x29B1.
+     */
+    public static final Algorithm CRC16_CCITT = new Algorithm("CRC-16/CCITT-FALSE", 16, 0x1021, 0xFFFF, false,
+            0x0000);
+
+    /**
+     * CRC-16/XMODEM, poly 0x1021, init 0x0000, check 0x31C3.
+     */
+    public static final Algorithm CRC16_XMODEM = new Algorithm("CRC-16/XMODEM", 16, 0x1021, 0x0000, false, 0x0000);
+
+    /**
+     * CRC-32 as in zip and Ethernet, poly 0x04C11DB7 reflected, init and xorout
+     * 0xFFFFFFFF, check 0xCBF43926.
+     */
+    public static final Algorithm CRC32 = new Algorithm("CRC-32", 32, 0x04C11DB7, 0xFFFFFFFF, true, 0xFFFFFFFF);
+
+    /**
+     * Below this length the LRC is computed byte by byte.
+     */
+    private static final int LRC_WORD_THRESHOLD = 16;
+
+    private Checksums() {
+    }
+
+    /**
+     * The XOR of {@code data[off, off + len)}, the LRC used by many serial
+     * protocols. Eight bytes are combined per step.
+     *
+     * @param data
+     * @param off
+     * @param len
+     * @return
+     * @see Bytes#lrc(byte[])
+     */
+    public static byte lrc(byte[] data, int off, int len) {
+        Preconditions.checkPositionIndexes(off, off + len, data.length);
+        int end = off + len;
+        int i = off;
+        long word = 0;
+        if (len >= LRC_WORD_THRESHOLD) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            for (int last = end - 8; i <= last; i += 8) {
+                word ^= buffer.getLong(i);
+            }
+            word ^= word >>> 32;
+            word ^= word >>> 16;
+            word ^= word >>> 8;
+        }
+        int lrc = (int) word;
+        for (; i < end; i++) {
+            lrc ^= data[i];
+        }
+        return (byte) lrc;
+    }
+
+    /**
+     * Parameters of a CRC with its precomputed tables. Immutable and
+     * thread-safe; reuse instances since construction computes 8 KB of tables.
+     * Only algorithms whose input and output reflection agree are supported,
+     * which covers the common ones.
+     */
+    public static final class Algorithm {
+
+        private final String name;
+
+        private final int width;
+
+        private final int init;
+
+        private final boolean reflected;
+
+        private final int xorOut;
+
+        private final int mask;
+
+        /**
+         * Slicing tables, {@code table[k * 256 + b]} is the register after byte
+         * {@code b} followed by {@code k} zero bytes.
+         */
+        private final int[] table = new int[8 * 256];
+
+        /**
+         * @param name      the name used by {@link #toString()}
+         * @param width     the register width, 8 to 32 bits
+         * @param poly      the polynomial in normal (MSB-first) notation
+         * @param init      the initial register value
+         * @param reflected whether input bytes and the result are reflected
+         * @param xorOut    the value XORed into the result
+         */
+        public Algorithm(String name, int width, int poly, int init, boolean reflected, int xorOut) {
+            Preconditions.checkArgument(width >= 8 && width <= 32, "Invalid width: %s", width);
+            this.name = name;
+            this.width = width;
+            this.mask = (int) ((1L << width) - 1);
+            this.reflected = reflected;
+            this.init = reflected ? reflect(init & mask, width) : init & mask;
+            this.xorOut = xorOut & mask;
+            if (reflected) {
+                int r = reflect(poly & mask, width);
+                for (int b = 0; b < 256; b++) {
+                    int crc = b;
+                    for (int i = 0; i < 8; i++) {
+                        crc = (crc & 1) != 0 ? (crc >>> 1) ^ r : crc >>> 1;
+                    }
+                    table[b] = crc;
+                }
+                for (int k = 1; k < 8; k++) {
+                    for (int b = 0; b < 256; b++) {
+                        int prev = table[(k - 1) * 256 + b];
+                        table[k * 256 + b] = (prev >>> 8) ^ table[prev & 0xFF];
+                    }
+                }
+            } else {
+                int top = 1 << (width - 1);
+                for (int b = 0; b < 256; b++) {
+                    int crc = b << (width - 8);
+                    for (int i = 0; i < 8; i++) {
+                        crc = (crc & top) != 0 ? (crc << 1) ^ poly : crc << 1;
+                    }
+                    table[b] = crc & mask;
+                }
+                for (int k = 1; k < 8; k++) {
+                    for (int b = 0; b < 256; b++) {
+                        int prev = table[(k - 1) * 256 + b];
+                        table[k * 256 + b] = ((prev << 8) ^ table[(prev >>> (width - 8)) & 0xFF]) & mask;
+                    }
+                }
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Start an incremental computation.
+         *
+         * @return
+         */
+        public Crc newCrc() {
+            return new Crc(this);
+        }
+
+        /**
+         * The CRC of {@code data}.
+         *
+         * @param data
+         * @return the unsigned CRC value
+         */
+        public long checksum(byte[] data) {
+            return checksum(data, 0, data.length);
+        }
+
+        /**
+         * The CRC of {@code data[off, off + len)}.
+         *
+         * @param data
+         * @param off
+         * @param len
+         * @return the unsigned CRC value
+         */
+        public long checksum(byte[] data, int off, int len) {
+            Preconditions.checkPositionIndexes(off, off + len, data.length);
+            return finish(update(init, data, off, len));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        int update(int crc, byte[] data, int off, int len) {
+            int[] t = table;
+            int i = off;
+            int end = off + len;
+            if (reflected) {
+                for (int last = end - 8; i <= last; i += 8) {
+                    crc = t[7 * 256 + ((data[i] ^ crc) & 0xFF)]
+                            ^ t[6 * 256 + ((data[i + 1] ^ (crc >>> 8)) & 0xFF)]
+                            ^ t[5 * 256 + ((data[i + 2] ^ (crc >>> 16)) & 0xFF)]
+                            ^ t[4 * 256 + ((data[i + 3] ^ (crc >>> 24)) & 0xFF)]
+                            ^ t[3 * 256 + (data[i + 4] & 0xFF)]
+                            ^ t[2 * 256 + (data[i + 5] & 0xFF)]
+                            ^ t[256 + (data[i + 6] & 0xFF)]
+                            ^ t[data[i + 7] & 0xFF];
+                }
+                for (; i < end; i++) {
+                    crc = (crc >>> 8) ^ t[(crc ^ data[i]) & 0xFF];
+                }
+            } else {
+                int shift = 32 - width;
+                for (int last = end - 8; i <= last; i += 8) {
+                    int c = crc << shift;
+                    crc = t[7 * 256 + ((data[i] ^ (c >>> 24)) & 0xFF)]
+                            ^ t[6 * 256 + ((data[i + 1] ^ (c >>> 16)) & 0xFF)]
+                            ^ t[5 * 256 + ((data[i + 2] ^ (c >>> 8)) & 0xFF)]
+                            ^ t[4 * 256 + ((data[i + 3] ^ c) & 0xFF)]
+                            ^ t[3 * 256 + (data[i + 4] & 0xFF)]
+                            ^ t[2 * 256 + (data[i + 5] & 0xFF)]
+                            ^ t[256 + (data[i + 6] & 0xFF)]
+                            ^ t[data[i + 7] & 0xFF];
+                }
+                for (; i < end; i++) {
+                    crc = ((crc << 8) ^ t[((crc >>> (width - 8)) ^ data[i]) & 0xFF]) & mask;
+                }
+            }
+            return crc;
+        }
+
+        long finish(int crc) {
+            return (crc ^ xorOut) & (mask & 0xFFFFFFFFL);
+        }
+
+        private static int reflect(int value, int width) {
+            return Integer.reverse(value) >>> (32 - width);
+        }
+    }
+
+    /**
+     * Incremental CRC state. Not thread-safe.
+     */
+    public static final class Crc implements Checksum {
+
+        private final Algorithm algorithm;
+
+        private int crc;
+
+        private final byte[] single = new byte[1];
+
+        private Crc(Algorithm algorithm) {
+            this.algorithm = algorithm;
+            this.crc = algorithm.init;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public void update(int b) {
+            single[0] = (byte) b;
+            crc = algorithm.update(crc, single, 0, 1);
+        }
+
+        public void update(byte[] data) {
+            update(data, 0, data.length);
+        }
+
+        @Override
+        public void update(byte[] data, int off, int len) {
+            Preconditions.checkPositionIndexes(off, off + len, data.length);
+            crc = algorithm.update(crc, data, off, len);
+        }
+
+        /**
+         * Update with the bytes between the position and the limit of
+         * {@code buffer}, advancing its position to the limit.
+         *
+         * @param buffer heap or direct buffer
+         */
+        public void update(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } else {
+                byte[] chunk = new byte[Math.min(buffer.remaining(), 4096)];
+                while (buffer.hasRemaining()) {
+                    int count = Math.min(buffer.remaining(), chunk.length);
+                    buffer.get(chunk, 0, count);
+                    crc = algorithm.update(crc, chunk, 0, count);
+                }
+            }
+        }
+
+        /**
+         * The CRC of the bytes so far, unsigned.
+         */
+        @Override
+        public long getValue() {
+            return algorithm.finish(crc);
+        }
+
+        @Override
+        public void reset() {
+            crc = algorithm.init;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package aura.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static aura.data.Preconditions.checkArgument;
+import static aura.data.Preconditions.checkElementIndex;
+import static aura.data.Preconditions.checkPositionIndex;
+import static aura.data.Preconditions.checkPositionIndexes;
+
+/**
+ * A growable list of {@code int} primitives backed by a {@code int[]}.
+ * <p>
+ * Unlike {@link Ints#asList(int...)}, elements are stored and returned
+ * without boxing, so collecting samples allocates only when the backing array
+ * grows. Iteration is through {@link #forEach(IntConsumer)} or a
+ * {@link PrimitiveIterator.OfInt}. Instances are not thread-safe.
+ *
+ * @see Ints
+ */
+public final class IntArrayList implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 0;
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private int[] elements;
+
+    private int size;
+
+    private transient int modCount;
+
+    public IntArrayList() {
+        elements = EMPTY;
+    }
+
+    /**
+     * @param initialCapacity the initial capacity
+     */
+    public IntArrayList(int initialCapacity) {
+        checkArgument(initialCapacity >= 0, "Invalid initialCapacity: %s", initialCapacity);
+        elements = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    /**
+     * Create a list holding a copy of {@code values}.
+     *
+     * @param values
+     * @return
+     */
+    public static IntArrayList of(int... values) {
+        IntArrayList list = new IntArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        checkElementIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Replace the element at {@code index}.
+     *
+     * @param index
+     * @param value
+     * @return the previous element
+     */
+    public int set(int index, int value) {
+        checkElementIndex(index, size);
+        int old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+    }
+
+    /**
+     * Insert {@code value} at {@code index}, shifting later elements.
+     *
+     * @param index
+     * @param value
+     */
+    public void add(int index, int value) {
+        checkPositionIndex(index, size);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Append {@code values[off, off + len)}.
+     *
+     * @param values
+     * @param off
+     * @param len
+     */
+    public void addAll(int[] values, int off, int len) {
+        checkPositionIndexes(off, off + len, values.length);
+        ensureCapacity(size + len);
+        System.arraycopy(values, off, elements, size, len);
+        size += len;
+    }
+
+    public void addAll(IntArrayList values) {
+        addAll(values.elements, 0, values.size);
+    }
+
+    /**
+     * Remove the element at {@code index}, shifting later elements.
+     *
+     * @param index
+     * @return the removed element
+     */
+    public int removeAt(int index) {
+        checkElementIndex(index, size);
+        int old = elements[index];
+        removeRange(index, index + 1);
+        return old;
+    }
+
+    /**
+     * Remove the elements in {@code [fromIndex, toIndex)}.
+     *
+     * @param fromIndex
+     * @param toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        checkPositionIndexes(fromIndex, toIndex, size);
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Remove every element matching {@code filter} in one pass.
+     *
+     * @param filter
+     * @return whether any element was removed
+     */
+    public boolean removeIf(IntPredicate filter) {
+        int count = modCount;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int value = elements[i];
+            if (!filter.test(value)) {
+                elements[kept++] = value;
+            }
+        }
+        if (count != modCount) {
+            throw new ConcurrentModificationException();
+        }
+        boolean removed = kept < size;
+        if (removed) {
+            size = kept;
+            modCount++;
+        }
+        return removed;
+    }
+
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Grow the backing array to hold at least {@code minCapacity} elements.
+     *
+     * @param minCapacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        modCount++;
+        if (minCapacity > elements.length) {
+            if (minCapacity < 0) {
+                throw new OutOfMemoryError("Required capacity exceeds 2^31");
+            }
+            int newCapacity = Math.max(elements.length + (elements.length >> 1), DEFAULT_CAPACITY);
+            if (newCapacity < minCapacity || newCapacity < 0) {
+                newCapacity = minCapacity;
+            }
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    /**
+     * Shrink the backing array to the current size.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * Copy the elements into a new array.
+     *
+     * @return
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Perform {@code action} for each element in order.
+     *
+     * @param action
+     */
+    public void forEach(IntConsumer action) {
+        int count = modCount;
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+        if (count != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * A fail-fast iterator over the elements.
+     *
+     * @return
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new Itr();
+    }
+
+    /**
+     * A sequential stream over the elements.
+     *
+     * @return
+     */
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof IntArrayList)) {
+            return false;
+        }
+        IntArrayList that = (IntArrayList) object;
+        if (size != that.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != that.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Ints.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(size * 5).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    private class Itr implements PrimitiveIterator.OfInt {
+
+        private int cursor;
+
+        private int last = -1;
+
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            last = cursor++;
+            return elements[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeRange(last, last + 1);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
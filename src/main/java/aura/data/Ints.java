@@ -513,6 +513,7 @@ public final class Ints {
      *
      * @param backingArray the array to back the list
      * @return a list view of the array
+     * @see IntArrayList
      */
     public static List<Integer> asList(int... backingArray) {
         if (backingArray.length == 0) {
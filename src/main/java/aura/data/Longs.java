@@ -522,6 +522,7 @@ public final class Longs {
      *
      * @param backingArray the array to back the list
      * @return a list view of the array
+     * @see LongArrayList
      */
     public static List<Long> asList(long... backingArray) {
         if (backingArray.length == 0) {
@@ -0,0 +1,228 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * A set of byte sequences searched simultaneously with the Aho-Corasick
+ * algorithm.
+ * <p>
+ * The patterns are compiled into a deterministic automaton with a full
+ * 256-way transition table per state, so a search reads every byte exactly
+ * once whatever the number of patterns. Instances are immutable and
+ * thread-safe.
+ * <p>
+ * A search reports the occurrence that ends first; among occurrences ending at
+ * the same index the longest pattern wins.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * MultiPattern markers = MultiPattern.compile(new byte[] { 0x02 }, new byte[] { 0x7E, 0x7E });
+ * long match = markers.find(stream, 0, stream.length);
+ * if (match >= 0) {
+ *     int start = MultiPattern.start(match);
+ *     int pattern = MultiPattern.pattern(match);
+ * }
+ * }
+ * </pre>
+ *
+ * @see BytePattern
+ */
+public final class MultiPattern {
+
+    /**
+     * Flattened transition table, {@code delta[state * 256 + byte]}.
+     */
+    private final int[] delta;
+
+    /**
+     * Index of the longest pattern ending in each state, or {@code -1}.
+     */
+    private final int[] output;
+
+    /**
+     * Length of each pattern.
+     */
+    private final int[] lengths;
+
+    private MultiPattern(int[] delta, int[] output, int[] lengths) {
+        this.delta = delta;
+        this.output = output;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Compile a set of non-empty byte sequences.
+     *
+     * @param patterns the sequences to search for
+     * @return the compiled patterns
+     * @throws IllegalArgumentException if there is no pattern or a pattern is
+     *                                  empty
+     */
+    public static MultiPattern compile(byte[]... patterns) {
+        Preconditions.checkArgument(patterns.length > 0, "no pattern");
+        int capacity = 1;
+        for (byte[] pattern : patterns) {
+            Preconditions.checkArgument(pattern.length > 0, "empty pattern");
+            capacity += pattern.length;
+        }
+
+        // trie, 0 means no child since the root is never a child
+        int[] delta = new int[capacity * 256];
+        int[] output = new int[capacity];
+        Arrays.fill(output, -1);
+        int states = 1;
+        int[] lengths = new int[patterns.length];
+        for (int p = 0; p < patterns.length; p++) {
+            byte[] pattern = patterns[p];
+            lengths[p] = pattern.length;
+            int state = 0;
+            for (byte b : pattern) {
+                int index = state * 256 + (b & 0xFF);
+                if (delta[index] == 0) {
+                    delta[index] = states++;
+                }
+                state = delta[index];
+            }
+            if (output[state] < 0) {
+                output[state] = p;
+            }
+        }
+
+        // breadth first: failure links, then complete the transitions
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+        for (int c = 0; c < 256; c++) {
+            int child = delta[c];
+            if (child != 0) {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (output[state] < 0) {
+                output[state] = output[fail[state]];
+            }
+            for (int c = 0; c < 256; c++) {
+                int index = state * 256 + c;
+                int child = delta[index];
+                int fallback = delta[fail[state] * 256 + c];
+                if (child != 0) {
+                    fail[child] = fallback;
+                    queue.add(child);
+                } else {
+                    delta[index] = fallback;
+                }
+            }
+        }
+        return new MultiPattern(Arrays.copyOf(delta, states * 256), Arrays.copyOf(output, states), lengths);
+    }
+
+    /**
+     * The number of patterns.
+     *
+     * @return
+     */
+    public int size() {
+        return lengths.length;
+    }
+
+    /**
+     * Returns the start position of the first occurrence of any pattern within
+     * {@code array}, or {@code -1}.
+     *
+     * @param array the array to search
+     * @return the start index, or {@code -1}
+     */
+    public int indexOf(byte[] array) {
+        long match = find(array, 0, array.length);
+        return match < 0 ? -1 : start(match);
+    }
+
+    /**
+     * Find the first occurrence of any pattern within
+     * {@code array[fromIndex, toIndex)}.
+     *
+     * @param array     the array to search
+     * @param fromIndex the first index to search, inclusive
+     * @param toIndex   the end of the range, exclusive
+     * @return the match packed as by {@link #start(long)} and
+     *         {@link #pattern(long)}, or {@code -1}
+     * @throws IndexOutOfBoundsException if the range is out of {@code array}
+     */
+    public long find(byte[] array, int fromIndex, int toIndex) {
+        Preconditions.checkPositionIndexes(fromIndex, toIndex, array.length);
+        int state = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            state = delta[(state << 8) | (array[i] & 0xFF)];
+            int p = output[state];
+            if (p >= 0) {
+                return match(i + 1 - lengths[p], p);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the first occurrence of any pattern between the position and the limit
+     * of {@code buffer}. The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to search, heap or direct
+     * @return the match with an absolute start index, or {@code -1}
+     */
+    public long find(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            long match = find(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            return match < 0 ? -1 : match(start(match) - offset, pattern(match));
+        }
+        int state = 0;
+        for (int i = buffer.position(), end = buffer.limit(); i < end; i++) {
+            state = delta[(state << 8) | (buffer.get(i) & 0xFF)];
+            int p = output[state];
+            if (p >= 0) {
+                return match(i + 1 - lengths[p], p);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The start index of a match returned by {@code find}.
+     *
+     * @param match a non-negative match
+     * @return
+     */
+    public static int start(long match) {
+        return (int) match;
+    }
+
+    /**
+     * The pattern index of a match returned by {@code find}, in the order given
+     * to {@link #compile(byte[]...)}.
+     *
+     * @param match a non-negative match
+     * @return
+     */
+    public static int pattern(long match) {
+        return (int) (match >>> 32);
+    }
+
+    /**
+     * The length of a pattern.
+     *
+     * @param pattern the pattern index
+     * @return
+     */
+    public int length(int pattern) {
+        return lengths[pattern];
+    }
+
+    private static long match(int start, int pattern) {
+        return ((long) pattern << 32) | (start & 0xFFFFFFFFL);
+    }
+}
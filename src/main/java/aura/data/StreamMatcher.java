@@ -0,0 +1,177 @@
+package aura.data;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds a byte sequence in a stream that arrives in arbitrary chunks, such as
+ * successive serial reads.
+ * <p>
+ * The matcher keeps the length of the partial match between calls (the
+ * Knuth-Morris-Pratt state), so a sequence straddling two chunks is found
+ * without concatenating them and every byte is examined a bounded number of
+ * times. Matches do not overlap: the state restarts after each match.
+ * Instances are not thread-safe.
+ * <p>
+ * Examples:
+ * 
+ * <pre>
+ * {@code
+ * StreamMatcher sync = StreamMatcher.of((byte) 0xAA, (byte) 0x55);
+ * byte[] chunk = client.readData(64, 100);
+ * int end = sync.find(chunk, 0, chunk.length);
+ * if (end >= 0) {
+ *     // the frame body starts at chunk[end]
+ * }
+ * }
+ * </pre>
+ *
+ * @see BytePattern
+ */
+public final class StreamMatcher {
+
+    private final byte[] pattern;
+
+    /**
+     * Length of the longest proper border of {@code pattern[0, i]}.
+     */
+    private final int[] border;
+
+    /**
+     * Number of pattern bytes matched so far.
+     */
+    private int matched;
+
+    /**
+     * Number of bytes consumed since creation or reset.
+     */
+    private long position;
+
+    private StreamMatcher(byte[] pattern) {
+        this.pattern = pattern;
+        this.border = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = border[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            border[i] = k;
+        }
+    }
+
+    /**
+     * Create a matcher for a non-empty byte sequence.
+     *
+     * @param pattern the sequence to search for, copied
+     * @return a matcher in the initial state
+     */
+    public static StreamMatcher of(byte... pattern) {
+        Preconditions.checkNotNull(pattern, "pattern");
+        Preconditions.checkArgument(pattern.length > 0, "empty pattern");
+        return new StreamMatcher(pattern.clone());
+    }
+
+    /**
+     * Feed {@code chunk[off, off + len)} and stop at the first completed match.
+     *
+     * @param chunk the next bytes of the stream
+     * @param off   the offset of the first byte
+     * @param len   the number of bytes
+     * @return the index just past the end of the match, so the bytes from there
+     *         on have not been consumed yet, or {@code -1} if no match completed
+     *         in this chunk and it has been consumed entirely
+     * @throws IndexOutOfBoundsException if the range is out of {@code chunk}
+     */
+    public int find(byte[] chunk, int off, int len) {
+        Preconditions.checkPositionIndexes(off, off + len, chunk.length);
+        int k = matched;
+        for (int i = off, end = off + len; i < end; i++) {
+            byte b = chunk[i];
+            while (k > 0 && b != pattern[k]) {
+                k = border[k - 1];
+            }
+            if (b == pattern[k] && ++k == pattern.length) {
+                matched = 0;
+                position += i + 1 - off;
+                return i + 1;
+            }
+        }
+        matched = k;
+        position += len;
+        return -1;
+    }
+
+    /**
+     * Feed the bytes between the position and the limit of {@code buffer} and
+     * stop at the first completed match. The position of the buffer is advanced
+     * past the consumed bytes: just past the match, or to the limit.
+     *
+     * @param buffer the next bytes of the stream, heap or direct
+     * @return whether a match completed
+     */
+    public boolean find(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            int end = find(buffer.array(), offset + buffer.position(), buffer.remaining());
+            buffer.position(end < 0 ? buffer.limit() : end - offset);
+            return end >= 0;
+        }
+        int k = matched;
+        int start = buffer.position();
+        for (int i = start, end = buffer.limit(); i < end; i++) {
+            byte b = buffer.get(i);
+            while (k > 0 && b != pattern[k]) {
+                k = border[k - 1];
+            }
+            if (b == pattern[k] && ++k == pattern.length) {
+                matched = 0;
+                position += i + 1 - start;
+                buffer.position(i + 1);
+                return true;
+            }
+        }
+        matched = k;
+        position += buffer.remaining();
+        buffer.position(buffer.limit());
+        return false;
+    }
+
+    /**
+     * The number of pattern bytes matched at the end of the consumed stream.
+     *
+     * @return
+     */
+    public int matched() {
+        return matched;
+    }
+
+    /**
+     * The number of bytes consumed since creation or the last
+     * {@link #reset()}. Right after a match, the match started at
+     * {@code position() - length()}.
+     *
+     * @return
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * The length of the pattern.
+     *
+     * @return
+     */
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Forget the partial match and the consumed byte count, e.g. after the port
+     * was flushed.
+     */
+    public void reset() {
+        matched = 0;
+        position = 0;
+    }
+}
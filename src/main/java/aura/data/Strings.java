@@ -883,6 +883,15 @@ public final class Strings {
      * @return
      */
     public static boolean isHexString(String value){
-        return value.matches("^[A-Fa-f0-9]+$");
+        if (isNullOrEmpty(value)) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 256 || Bytes.HEX_VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.biapp.serialport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 单生产者/单消费者无锁环形缓冲区
+ * <p>
+ * 生产者(串口读线程)调用 {@link #write(byte[], int, int)}, 消费者调用
+ * {@link #read(byte[], int, int)}, {@link #peek(byte[], int, int)},
+ * {@link #await(int, long)}. 两端各只允许一个线程访问. 缓冲区满时写不下的数据被丢弃并计入溢出字节数.
+ *
+ * @author Yun
+ */
+public class ByteRingBuffer {
+
+    /**
+     * 缓冲区
+     */
+    private final byte[] buffer;
+
+    /**
+     * 下标掩码
+     */
+    private final int mask;
+
+    /**
+     * 读位置(消费者)
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * 写位置(生产者)
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 溢出字节数
+     */
+    private final AtomicLong overrun = new AtomicLong();
+
+    /**
+     * 等待数据的消费者线程
+     */
+    private volatile Thread waiter;
+
+    /**
+     * @param capacity 容量, 向上取整为2的幂
+     */
+    public ByteRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity should be in range [1, 2^30]");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new byte[size];
+        mask = size - 1;
+    }
+
+    /**
+     * 容量
+     *
+     * @return
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * 可读字节数
+     *
+     * @return
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * 溢出字节数
+     *
+     * @return
+     */
+    public long getOverrun() {
+        return overrun.get();
+    }
+
+    /**
+     * 写入数据(生产者)
+     *
+     * @param src 数据
+     * @param off 偏移
+     * @param len 长度
+     * @return 实际写入长度, 剩余部分计入溢出
+     */
+    public int write(byte[] src, int off, int len) {
+        long t = tail.get();
+        int free = buffer.length - (int) (t - head.get());
+        int count = Math.min(free, len);
+        if (count < len) {
+            overrun.addAndGet(len - count);
+        }
+        if (count > 0) {
+            copyIn(src, off, (int) t & mask, count);
+            tail.set(t + count);
+            Thread thread = waiter;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 读取数据(消费者)
+     *
+     * @param dst 缓冲区
+     * @param off 偏移
+     * @param len 最大长度
+     * @return 实际读取长度
+     */
+    public int read(byte[] dst, int off, int len) {
+        int count = peek(dst, off, len);
+        if (count > 0) {
+            head.lazySet(head.get() + count);
+        }
+        return count;
+    }
+
+    /**
+     * 读取数据但不移除(消费者)
+     *
+     * @param dst 缓冲区
+     * @param off 偏移
+     * @param len 最大长度
+     * @return 实际读取长度
+     */
+    public int peek(byte[] dst, int off, int len) {
+        long h = head.get();
+        int count = Math.min((int) (tail.get() - h), len);
+        if (count > 0) {
+            copyOut((int) h & mask, dst, off, count);
+        }
+        return count;
+    }
+
+    /**
+     * 丢弃数据(消费者)
+     *
+     * @param len 长度
+     * @return 实际丢弃长度
+     */
+    public int skip(int len) {
+        long h = head.get();
+        int count = Math.min((int) (tail.get() - h), len);
+        if (count > 0) {
+            head.lazySet(h + count);
+        }
+        return count;
+    }
+
+    /**
+     * 清空(消费者)
+     */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    /**
+     * 等待可读字节数达到指定长度(消费者)
+     *
+     * @param min     最小长度, 超过容量时按容量等待
+     * @param timeOut 超时(ms)
+     * @return 是否达到
+     */
+    public boolean await(int min, long timeOut) {
+        min = Math.min(min, buffer.length);
+        if (size() >= min) {
+            return true;
+        }
+        long deadline = System.nanoTime() + timeOut * 1000000L;
+        try {
+            waiter = Thread.currentThread();
+            while (size() < min) {
+                long remain = deadline - System.nanoTime();
+                if (remain <= 0 || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remain);
+            }
+            return true;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    private void copyIn(byte[] src, int off, int index, int len) {
+        int first = Math.min(len, buffer.length - index);
+        System.arraycopy(src, off, buffer, index, first);
+        if (first < len) {
+            System.arraycopy(src, off + first, buffer, 0, len - first);
+        }
+    }
+
+    private void copyOut(int index, byte[] dst, int off, int len) {
+        int first = Math.min(len, buffer.length - index);
+        System.arraycopy(buffer, index, dst, off, first);
+        if (first < len) {
+            System.arraycopy(buffer, 0, dst, off + first, len - first);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.biapp.serialport;
+
+import aura.data.BytePattern;
+import aura.data.Preconditions;
+
+/**
+ * 分隔符帧解码器
+ * <p>
+ * 以分隔符结尾的数据为一帧, 帧包含分隔符.
+ *
+ * @author Yun
+ */
+public class DelimiterFrameDecoder implements FrameDecoder {
+
+    /**
+     * 分隔符
+     */
+    private final BytePattern delimiter;
+
+    public DelimiterFrameDecoder(byte... delimiter) {
+        Preconditions.checkNotNull(delimiter, "delimiter");
+        Preconditions.checkArgument(delimiter.length > 0, "delimiter is empty");
+        this.delimiter = BytePattern.compile(delimiter);
+    }
+
+    @Override
+    public int decode(byte[] buffer, int offset, int length) {
+        int index = delimiter.indexOf(buffer, offset, offset + length);
+        return index < 0 ? 0 : index - offset + delimiter.length();
+    }
+}
@@ -0,0 +1,26 @@
+package com.biapp.serialport;
+
+import aura.data.Preconditions;
+
+/**
+ * 定长帧解码器
+ *
+ * @author Yun
+ */
+public class FixedLengthFrameDecoder implements FrameDecoder {
+
+    /**
+     * 帧长度
+     */
+    private final int frameLength;
+
+    public FixedLengthFrameDecoder(int frameLength) {
+        Preconditions.checkArgument(frameLength > 0, "Invalid frameLength: %s", frameLength);
+        this.frameLength = frameLength;
+    }
+
+    @Override
+    public int decode(byte[] buffer, int offset, int length) {
+        return length >= frameLength ? frameLength : 0;
+    }
+}
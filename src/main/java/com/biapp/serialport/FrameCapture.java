@@ -0,0 +1,98 @@
+package com.biapp.serialport;
+
+import aura.data.Bytes;
+
+/**
+ * 帧抓包文件格式
+ * <p>
+ * 文件头8字节, 之后为连续的记录, 多字节整数均为大端:
+ *
+ * <pre>
+ * 文件头: magic(4) "SPCF" | version(2) | reserved(2)
+ * 记录:   length(4) | timestamp(8) | direction(1) | portLength(1) | port(portLength) | data(...)
+ * </pre>
+ *
+ * length为整条记录的字节数(含length本身), timestamp为微秒级Unix时间, port为UTF-8编码的串口名.
+ * 文件按块预分配, length为0表示数据结束.
+ *
+ * @author Yun
+ * @see FrameCaptureWriter
+ * @see FrameCaptureDump
+ */
+public final class FrameCapture {
+
+    /**
+     * 文件标识 "SPCF"
+     */
+    public static final int MAGIC = 0x53504346;
+
+    /**
+     * 格式版本
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * 文件头长度
+     */
+    public static final int FILE_HEADER_LENGTH = 8;
+
+    /**
+     * 记录头固定部分长度, 不含串口名
+     */
+    public static final int RECORD_HEADER_LENGTH = 14;
+
+    /**
+     * 字节序
+     */
+    public static final Bytes.ENDIAN ENDIAN = Bytes.ENDIAN.BIG_ENDIAN;
+
+    /**
+     * 串口名最大长度(UTF-8字节)
+     */
+    public static final int MAX_PORT_LENGTH = 255;
+
+    /**
+     * 数据方向
+     */
+    public enum Direction {
+        /**
+         * 发送
+         */
+        SEND("Send"),
+        /**
+         * 接收
+         */
+        RECEIVE("Read");
+
+        /**
+         * 日志标签后缀, 与 {@link SerialPortClient} 日志一致
+         */
+        private final String suffix;
+
+        Direction(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        /**
+         * 按编码获得方向
+         *
+         * @param code 记录中的方向字节
+         * @return
+         * @throws IllegalArgumentException 未知编码
+         */
+        public static Direction valueOf(int code) {
+            Direction[] values = values();
+            if (code < 0 || code >= values.length) {
+                throw new IllegalArgumentException("Invalid direction: " + code);
+            }
+            return values[code];
+        }
+    }
+
+    private FrameCapture() {
+    }
+}
@@ -0,0 +1,105 @@
+package com.biapp.serialport;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import com.biapp.util.FormatUtil;
+
+import aura.data.Bytes;
+
+/**
+ * 帧抓包离线查看
+ * <p>
+ * 按 {@link com.biapp.util.PrintfUtil#hex(String, String)} 的格式逐条输出抓包记录:
+ *
+ * <pre>
+ * java -cp SerialPortTool.jar com.biapp.serialport.FrameCaptureDump serial.cap [port]
+ * </pre>
+ *
+ * @author Yun
+ */
+public class FrameCaptureDump {
+
+    /**
+     * 时间格式
+     */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * 每行字节数
+     */
+    private static final int LINE = 16;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: FrameCaptureDump <file> [port]");
+            System.exit(1);
+        }
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 64 * 1024), false);
+        try {
+            dump(args[0], args.length > 1 ? args[1] : null, out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * 输出抓包文件
+     *
+     * @param file 抓包文件
+     * @param port 只输出该串口, null表示全部
+     * @param out  输出
+     * @return 输出的记录数
+     * @throws IOException
+     */
+    public static long dump(String file, String port, PrintStream out) throws IOException {
+        long count = 0;
+        try (FrameCaptureReader reader = FrameCaptureReader.open(Paths.get(file))) {
+            FrameCaptureReader.Cursor cursor = port == null ? reader.cursor() : reader.seek(port, Long.MIN_VALUE);
+            byte[] data = new byte[LINE];
+            while (cursor.next()) {
+                ByteBuffer buffer = cursor.data();
+                int len = buffer.remaining();
+                if (len > data.length) {
+                    data = new byte[len];
+                }
+                buffer.get(data, 0, len);
+                print(out, cursor.timestamp(), cursor.port() + "-" + cursor.direction().getSuffix(), data, len);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 输出一条记录
+     */
+    private static void print(PrintStream out, long micros, String tag, byte[] data, int len) {
+        long seconds = Math.floorDiv(micros, 1000000L);
+        out.println(TIME_FORMAT.format(Instant.ofEpochSecond(seconds)) + "."
+                + FormatUtil.addHead('0', 6, String.valueOf(Math.floorMod(micros, 1000000L))) + " [" + tag + "] ("
+                + len + ")");
+        StringBuilder text = new StringBuilder(LINE);
+        for (int i = 0; i < len; i += LINE) {
+            int count = Math.min(LINE, len - i);
+            text.setLength(0);
+            for (int j = i; j < i + count; j++) {
+                int b = data[j] & 0xFF;
+                text.append(b >= 0x20 && b < 0x7F ? (char) b : '.');
+            }
+            out.println("(" + String.format("%04d", i / LINE + 1) + ")"
+                    + FormatUtil.addAppend(' ', 32,
+                            Bytes.appendHex(new StringBuilder(count << 1), data, i, count).toString())
+                    + " |/*" + text + "*/|");
+        }
+    }
+}
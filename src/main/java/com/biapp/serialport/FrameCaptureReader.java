@@ -0,0 +1,555 @@
+package com.biapp.serialport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import aura.data.Bytes;
+import aura.data.LongArrayList;
+import aura.data.Preconditions;
+
+/**
+ * 帧抓包读取
+ * <p>
+ * 以 {@link FileChannel#map} 分段映射 {@link FrameCapture} 格式的抓包文件, 打开时扫描一遍记录头,
+ * 每 {@link #INDEX_INTERVAL} 条记录建立一个时间索引点, 并为每个串口建立同样间隔的索引.
+ * {@link #seek(long)} 二分查找索引后最多顺序扫描一个间隔; 按串口查找时从两个索引中较近的位置开始,
+ * 到达起始时间后还需跳过其间其他串口的记录, 扫描长度与这些记录数成正比.
+ * 记录数据以映射缓冲区的切片返回, 不复制.
+ * <p>
+ * 时间索引假设同一文件内时间戳不递减, {@link FrameCaptureWriter} 追加时保证这一点;
+ * 其他方式写入的文件时间戳递减时, 查找可能跳过记录, 时间窗口遍历可能提前结束.
+ *
+ * <pre>
+ * {@code
+ * try (FrameCaptureReader reader = FrameCaptureReader.open(Paths.get("serial.cap"))) {
+ *     FrameCaptureReader.Cursor cursor = reader.seek("COM1", from, to);
+ *     while (cursor.next()) {
+ *         ByteBuffer data = cursor.data();
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @author Yun
+ */
+public class FrameCaptureReader implements Closeable {
+
+    /**
+     * 默认映射段大小
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * 索引间隔(记录数)
+     */
+    public static final int INDEX_INTERVAL = 256;
+
+    /**
+     * 抓包文件
+     */
+    private final FileChannel channel;
+
+    /**
+     * 映射段, 每段以完整记录结尾
+     */
+    private final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+
+    /**
+     * 串口索引, 按首次出现顺序
+     */
+    private final Map<String, Index> ports = new LinkedHashMap<String, Index>();
+
+    /**
+     * 串口名, 与 {@link #portNames} 和 {@link #portIndexes} 一一对应
+     */
+    private final List<String> portList = new ArrayList<String>();
+
+    /**
+     * 串口名(UTF-8)
+     */
+    private final List<byte[]> portNames = new ArrayList<byte[]>();
+
+    /**
+     * 串口索引
+     */
+    private final List<Index> portIndexes = new ArrayList<Index>();
+
+    /**
+     * 时间索引
+     */
+    private final Index index = new Index();
+
+    private long firstTimestamp;
+
+    private long lastTimestamp;
+
+    /**
+     * 索引点, 位置编码为 段号 << 32 | 段内偏移
+     */
+    private static final class Index {
+
+        private final LongArrayList timestamps = new LongArrayList();
+
+        private final LongArrayList positions = new LongArrayList();
+
+        private long records;
+
+        private void add(long timestamp, long position) {
+            if (records++ % INDEX_INTERVAL == 0) {
+                timestamps.add(timestamp);
+                positions.add(position);
+            }
+        }
+
+        /**
+         * 时间戳小于指定时间的最后一个索引点的位置, 没有时为-1
+         */
+        private long floor(long micros) {
+            int low = 0;
+            int high = timestamps.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps.get(mid) < micros) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high < 0 ? -1 : positions.get(high);
+        }
+    }
+
+    private FrameCaptureReader(FileChannel channel, int segmentSize) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        ByteBuffer head = ByteBuffer.allocate(FrameCapture.FILE_HEADER_LENGTH);
+        read(head, 0);
+        if (head.hasRemaining() || Bytes.getInt(head, 0, FrameCapture.ENDIAN) != FrameCapture.MAGIC) {
+            throw new IOException("not a capture file");
+        }
+        int version = Bytes.getUnsignedShort(head, 4, FrameCapture.ENDIAN);
+        if (version != FrameCapture.VERSION) {
+            throw new IOException("unsupported version: " + version);
+        }
+        long start = FrameCapture.FILE_HEADER_LENGTH;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (start + FrameCapture.RECORD_HEADER_LENGTH <= size) {
+            length.clear();
+            read(length, start);
+            int recordLength = Bytes.getInt(length, 0, FrameCapture.ENDIAN);
+            if (!valid(recordLength, size - start)) {
+                break;
+            }
+            long mapSize = Math.min(size - start, Math.max(segmentSize, recordLength));
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, mapSize);
+            int end = scan(segment, segments.size());
+            if (end == 0) {
+                break;
+            }
+            // 跨越段尾的记录从下一段开始映射
+            segment.limit(end);
+            segments.add(segment);
+            start += end;
+        }
+    }
+
+    /**
+     * 打开抓包文件并建立索引
+     *
+     * @param file 抓包文件
+     * @return
+     * @throws IOException 文件不是抓包文件或无法打开
+     */
+    public static FrameCaptureReader open(Path file) throws IOException {
+        return open(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 打开抓包文件并建立索引
+     *
+     * @param file        抓包文件
+     * @param segmentSize 映射段大小, 超过该大小的记录单独映射
+     * @return
+     * @throws IOException 文件不是抓包文件或无法打开
+     */
+    public static FrameCaptureReader open(Path file, int segmentSize) throws IOException {
+        Preconditions.checkArgument(segmentSize >= FrameCapture.RECORD_HEADER_LENGTH, "Invalid segment size: %s",
+                segmentSize);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new FrameCaptureReader(channel, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录数
+     *
+     * @return
+     */
+    public long size() {
+        return index.records;
+    }
+
+    /**
+     * 指定串口的记录数
+     *
+     * @param port 串口名
+     * @return
+     */
+    public long size(String port) {
+        Index portIndex = ports.get(port);
+        return portIndex == null ? 0 : portIndex.records;
+    }
+
+    /**
+     * 抓包中的串口名, 按首次出现顺序
+     *
+     * @return
+     */
+    public Set<String> getPorts() {
+        return Collections.unmodifiableSet(ports.keySet());
+    }
+
+    /**
+     * 第一条记录的时间戳(微秒), 没有记录时为0
+     *
+     * @return
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * 最后一条记录的时间戳(微秒), 没有记录时为0
+     *
+     * @return
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * 从第一条记录开始遍历
+     *
+     * @return
+     */
+    public Cursor cursor() {
+        return new Cursor(segments.isEmpty() ? -1 : 0, null, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 从时间戳不小于指定时间的第一条记录开始遍历
+     *
+     * @param from 起始时间(微秒)
+     * @return
+     */
+    public Cursor seek(long from) {
+        return seek(null, from, Long.MAX_VALUE);
+    }
+
+    /**
+     * 从指定串口时间戳不小于指定时间的第一条记录开始遍历
+     *
+     * @param port 串口名
+     * @param from 起始时间(微秒)
+     * @return
+     */
+    public Cursor seek(String port, long from) {
+        return seek(port, from, Long.MAX_VALUE);
+    }
+
+    /**
+     * 遍历时间窗口内的记录
+     *
+     * @param port 串口名, null表示全部
+     * @param from 起始时间(微秒), 包含
+     * @param to   结束时间(微秒), 包含
+     * @return
+     */
+    public Cursor seek(String port, long from, long to) {
+        if (port == null) {
+            return new Cursor(start(index, from), null, from, to);
+        }
+        Index portIndex = ports.get(port);
+        if (portIndex == null) {
+            return new Cursor(-1, null, from, to);
+        }
+        // 串口索引点之后可能间隔大量其他串口的记录, 取与时间索引点中较后的位置
+        long start = Math.max(start(portIndex, from), start(index, from));
+        return new Cursor(start, port.getBytes(StandardCharsets.UTF_8), from, to);
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        channel.close();
+    }
+
+    /**
+     * 记录游标
+     * <p>
+     * {@link #next()} 返回true后可读取当前记录, 返回的缓冲区在读取器关闭后不可再使用.
+     */
+    public final class Cursor {
+
+        /**
+         * 端口过滤, null表示全部
+         */
+        private final byte[] port;
+
+        private final long from;
+
+        private final long to;
+
+        /**
+         * 下一条记录位置, -1表示结束
+         */
+        private long next;
+
+        private ByteBuffer segment;
+
+        /**
+         * 当前记录在段内的偏移, -1表示无当前记录
+         */
+        private int current = -1;
+
+        private Cursor(long next, byte[] port, long from, long to) {
+            this.next = next;
+            this.port = port;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * 移动到下一条记录
+         *
+         * @return 是否有记录
+         */
+        public boolean next() {
+            while (next >= 0) {
+                segment = segments.get((int) (next >>> 32));
+                current = (int) next;
+                int length = Bytes.getInt(segment, current, FrameCapture.ENDIAN);
+                advance(current + length);
+                long timestamp = timestamp();
+                if (timestamp > to) {
+                    break;
+                }
+                if (timestamp >= from && (port == null || portEquals(port))) {
+                    return true;
+                }
+            }
+            next = -1;
+            current = -1;
+            return false;
+        }
+
+        /**
+         * 时间戳(微秒)
+         *
+         * @return
+         */
+        public long timestamp() {
+            return Bytes.getLong(segment, check() + 4, FrameCapture.ENDIAN);
+        }
+
+        /**
+         * 方向
+         *
+         * @return
+         */
+        public FrameCapture.Direction direction() {
+            return FrameCapture.Direction.valueOf(segment.get(check() + 12));
+        }
+
+        /**
+         * 串口名
+         *
+         * @return
+         */
+        public String port() {
+            return portList.get(portId(segment, check()));
+        }
+
+        /**
+         * 数据长度
+         *
+         * @return
+         */
+        public int length() {
+            int offset = check();
+            return Bytes.getInt(segment, offset, FrameCapture.ENDIAN) - FrameCapture.RECORD_HEADER_LENGTH
+                    - (segment.get(offset + 13) & 0xFF);
+        }
+
+        /**
+         * 数据, 映射缓冲区的只读切片
+         *
+         * @return
+         */
+        public ByteBuffer data() {
+            int offset = check();
+            int length = Bytes.getInt(segment, offset, FrameCapture.ENDIAN);
+            return slice(offset + FrameCapture.RECORD_HEADER_LENGTH + (segment.get(offset + 13) & 0xFF),
+                    offset + length);
+        }
+
+        /**
+         * 整条记录(含记录头), 映射缓冲区的只读切片
+         *
+         * @return
+         */
+        public ByteBuffer record() {
+            int offset = check();
+            return slice(offset, offset + Bytes.getInt(segment, offset, FrameCapture.ENDIAN));
+        }
+
+        private ByteBuffer slice(int start, int end) {
+            ByteBuffer duplicate = segment.asReadOnlyBuffer();
+            duplicate.limit(end).position(start);
+            return duplicate.slice();
+        }
+
+        private int check() {
+            if (current < 0) {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+
+        private void advance(int end) {
+            int index = (int) (next >>> 32);
+            if (end < segment.limit()) {
+                next = ((long) index << 32) | end;
+            } else if (index + 1 < segments.size()) {
+                next = (long) (index + 1) << 32;
+            } else {
+                next = -1;
+            }
+        }
+
+        private boolean portEquals(byte[] name) {
+            return FrameCaptureReader.portEquals(segment, current, name);
+        }
+    }
+
+    /**
+     * 索引查找的起始位置
+     */
+    private long start(Index index, long from) {
+        if (segments.isEmpty()) {
+            return -1;
+        }
+        long position = index.floor(from);
+        return position < 0 ? index.positions.isEmpty() ? -1 : index.positions.get(0) : position;
+    }
+
+    /**
+     * 扫描段内完整记录并建立索引
+     *
+     * @param segment 映射段
+     * @param number  段号
+     * @return 最后一条完整记录的结尾
+     */
+    private int scan(ByteBuffer segment, int number) {
+        int offset = 0;
+        int limit = segment.limit();
+        while (limit - offset >= FrameCapture.RECORD_HEADER_LENGTH) {
+            int length = Bytes.getInt(segment, offset, FrameCapture.ENDIAN);
+            if (!valid(length, limit - offset)
+                    || (segment.get(offset + 13) & 0xFF) > length - FrameCapture.RECORD_HEADER_LENGTH) {
+                break;
+            }
+            long timestamp = Bytes.getLong(segment, offset + 4, FrameCapture.ENDIAN);
+            long position = ((long) number << 32) | offset;
+            if (index.records == 0) {
+                firstTimestamp = timestamp;
+            }
+            lastTimestamp = timestamp;
+            index.add(timestamp, position);
+            int port = portId(segment, offset);
+            if (port < 0) {
+                port = addPort(segment, offset);
+            }
+            portIndexes.get(port).add(timestamp, position);
+            offset += length;
+        }
+        return offset;
+    }
+
+    /**
+     * 记录所属串口的序号, 未知串口时为-1
+     */
+    private int portId(ByteBuffer segment, int offset) {
+        for (int i = 0; i < portNames.size(); i++) {
+            if (portEquals(segment, offset, portNames.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 添加记录所属串口
+     */
+    private int addPort(ByteBuffer segment, int offset) {
+        byte[] name = new byte[segment.get(offset + 13) & 0xFF];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = segment.get(offset + FrameCapture.RECORD_HEADER_LENGTH + i);
+        }
+        String port = new String(name, StandardCharsets.UTF_8);
+        Index portIndex = new Index();
+        ports.put(port, portIndex);
+        portList.add(port);
+        portNames.add(name);
+        portIndexes.add(portIndex);
+        return portNames.size() - 1;
+    }
+
+    /**
+     * 记录的串口名是否与指定名称相同
+     */
+    private static boolean portEquals(ByteBuffer segment, int offset, byte[] name) {
+        if ((segment.get(offset + 13) & 0xFF) != name.length) {
+            return false;
+        }
+        int start = offset + FrameCapture.RECORD_HEADER_LENGTH;
+        for (int i = 0; i < name.length; i++) {
+            if (segment.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 记录长度是否有效
+     */
+    private static boolean valid(int length, long remaining) {
+        return length >= FrameCapture.RECORD_HEADER_LENGTH && length <= remaining;
+    }
+
+    private void read(ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            if (channel.read(dst, position + dst.position()) < 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.biapp.serialport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.biapp.util.PrintfUtil;
+
+import aura.data.Bytes;
+import aura.data.Preconditions;
+
+/**
+ * 帧抓包写入
+ * <p>
+ * 以 {@link FrameCapture} 格式记录原始收发数据, 取代16进制文本日志. 记录先写入缓冲区, 缓冲区满、
+ * {@link #flush()} 或 {@link #close()} 时通过 {@link FileChannel} 写入文件; 文件按块预分配,
+ * 关闭时截断到实际长度. 已存在的抓包文件从最后一条记录之后继续追加. 多个串口可共用同一实例.
+ *
+ * <pre>
+ * {@code
+ * FrameCaptureWriter capture = new FrameCaptureWriter(Paths.get("serial.cap"));
+ * client.setCapture(capture);
+ * }
+ * </pre>
+ *
+ * @author Yun
+ */
+public class FrameCaptureWriter implements Closeable {
+
+    /**
+     * 默认预分配块大小
+     */
+    public static final long DEFAULT_PREALLOCATE = 16 * 1024 * 1024;
+
+    /**
+     * 写缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String TAG = "FrameCapture";
+
+    /**
+     * 抓包文件
+     */
+    private final FileChannel channel;
+
+    /**
+     * 写缓冲区
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * 记录头
+     */
+    private final byte[] header = new byte[FrameCapture.RECORD_HEADER_LENGTH];
+
+    /**
+     * 串口名编码缓存
+     */
+    private final Map<String, byte[]> ports = new HashMap<String, byte[]>();
+
+    /**
+     * 预分配块大小
+     */
+    private final long preallocate;
+
+    /**
+     * 缓冲区在文件中的起始位置
+     */
+    private long flushed;
+
+    /**
+     * 已预分配长度
+     */
+    private long allocated;
+
+    /**
+     * 记录数
+     */
+    private long records;
+
+    /**
+     * 时间基准(微秒), 追加时不小于已有记录的时间戳
+     */
+    private long baseMicros = System.currentTimeMillis() * 1000;
+
+    /**
+     * 时间基准(纳秒)
+     */
+    private final long baseNanos = System.nanoTime();
+
+    private boolean closed;
+
+    public FrameCaptureWriter(Path file) throws IOException {
+        this(file, DEFAULT_PREALLOCATE);
+    }
+
+    /**
+     * @param file        抓包文件, 已存在时追加
+     * @param preallocate 预分配块大小
+     * @throws IOException 文件不是抓包文件或无法打开
+     */
+    public FrameCaptureWriter(Path file, long preallocate) throws IOException {
+        Preconditions.checkArgument(preallocate > 0, "Invalid preallocate: %s", preallocate);
+        this.preallocate = preallocate;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            allocated = channel.size();
+            if (allocated == 0) {
+                byte[] head = new byte[FrameCapture.FILE_HEADER_LENGTH];
+                Bytes.putInt(head, 0, FrameCapture.MAGIC, FrameCapture.ENDIAN);
+                Bytes.putShort(head, 4, FrameCapture.VERSION, FrameCapture.ENDIAN);
+                writeFully(ByteBuffer.wrap(head), 0);
+                allocated = head.length;
+                flushed = head.length;
+            } else {
+                flushed = findEnd();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录数据
+     *
+     * @param port      串口名
+     * @param direction 方向
+     * @param data      数据
+     * @param offset    偏移
+     * @param len       长度
+     */
+    public synchronized void record(String port, FrameCapture.Direction direction, byte[] data, int offset,
+            int len) {
+        Preconditions.checkPositionIndexes(offset, offset + len, data.length);
+        record(port, direction, null, data, offset, len);
+    }
+
+    /**
+     * 记录缓冲区position到limit之间的数据, 不改变缓冲区位置
+     *
+     * @param port      串口名
+     * @param direction 方向
+     * @param data      缓冲区(堆内或直接缓冲区)
+     */
+    public synchronized void record(String port, FrameCapture.Direction direction, ByteBuffer data) {
+        record(port, direction, data, null, 0, data.remaining());
+    }
+
+    /**
+     * 记录数
+     *
+     * @return
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /**
+     * 已写入长度(含缓冲区)
+     *
+     * @return
+     */
+    public synchronized long getPosition() {
+        return flushed + buffer.position();
+    }
+
+    /**
+     * 写入缓冲区中的记录
+     *
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        int size = buffer.position();
+        if (size > 0) {
+            buffer.flip();
+            try {
+                ensureAllocated(flushed + size);
+                writeFully(buffer, flushed);
+            } catch (IOException e) {
+                // 保留缓冲区内容, 下次从同一位置重新写入
+                buffer.limit(buffer.capacity()).position(size);
+                throw e;
+            }
+            flushed += size;
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 写入剩余记录, 截断预分配部分后关闭文件
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            channel.truncate(flushed);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void record(String port, FrameCapture.Direction direction, ByteBuffer src, byte[] data, int offset,
+            int len) {
+        if (closed) {
+            return;
+        }
+        byte[] name = encode(port);
+        int length = FrameCapture.RECORD_HEADER_LENGTH + name.length + len;
+        long micros = baseMicros + (System.nanoTime() - baseNanos) / 1000;
+        Bytes.putInt(header, 0, length, FrameCapture.ENDIAN);
+        Bytes.putLong(header, 4, micros, FrameCapture.ENDIAN);
+        header[12] = (byte) direction.ordinal();
+        header[13] = (byte) name.length;
+        try {
+            if (length > buffer.remaining()) {
+                flush();
+            }
+            if (length <= buffer.remaining()) {
+                buffer.put(header).put(name);
+                if (src != null) {
+                    buffer.put(src.duplicate());
+                } else {
+                    buffer.put(data, offset, len);
+                }
+            } else {
+                // 超过缓冲区的记录直接写入
+                // 全部写入成功后才移动写入位置, 失败时下一条记录覆盖写入不完整的部分
+                ensureAllocated(flushed + length);
+                long position = writeFully(ByteBuffer.wrap(header), flushed);
+                position = writeFully(ByteBuffer.wrap(name), position);
+                writeFully(src != null ? src.duplicate() : ByteBuffer.wrap(data, offset, len), position);
+                flushed += length;
+            }
+            records++;
+        } catch (IOException e) {
+            PrintfUtil.e(TAG, String.valueOf(e));
+        }
+    }
+
+    /**
+     * 串口名编码, 超过 {@link FrameCapture#MAX_PORT_LENGTH} 时截断
+     */
+    private byte[] encode(String port) {
+        byte[] name = ports.get(port);
+        if (name == null) {
+            name = port.getBytes(StandardCharsets.UTF_8);
+            if (name.length > FrameCapture.MAX_PORT_LENGTH) {
+                name = Bytes.subBytes(name, 0, FrameCapture.MAX_PORT_LENGTH);
+            }
+            ports.put(port, name);
+        }
+        return name;
+    }
+
+    /**
+     * 按块预分配到至少指定长度
+     */
+    private void ensureAllocated(long end) throws IOException {
+        if (end > allocated) {
+            allocated = Math.max(allocated + preallocate, end);
+            writeFully(ByteBuffer.wrap(new byte[1]), allocated - 1);
+        }
+    }
+
+    /**
+     * 查找已有文件的数据结尾, 并将时间基准调整为不小于最后一条记录的时间戳,
+     * 避免系统时间回调后时间戳递减
+     */
+    private long findEnd() throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(FrameCapture.FILE_HEADER_LENGTH);
+        readFully(head, 0);
+        if (head.hasRemaining() || Bytes.getInt(head.array(), 0, FrameCapture.ENDIAN) != FrameCapture.MAGIC) {
+            throw new IOException("not a capture file");
+        }
+        int version = Bytes.getUnsignedShort(head.array(), 4, FrameCapture.ENDIAN);
+        if (version != FrameCapture.VERSION) {
+            throw new IOException("unsupported version: " + version);
+        }
+        long position = FrameCapture.FILE_HEADER_LENGTH;
+        ByteBuffer header = ByteBuffer.allocate(12);
+        while (position + 4 <= allocated) {
+            header.clear();
+            readFully(header, position);
+            int recordLength = Bytes.getInt(header.array(), 0, FrameCapture.ENDIAN);
+            if (recordLength < FrameCapture.RECORD_HEADER_LENGTH || position + recordLength > allocated) {
+                break;
+            }
+            baseMicros = Math.max(baseMicros, Bytes.getLong(header.array(), 4, FrameCapture.ENDIAN));
+            position += recordLength;
+            records++;
+        }
+        return position;
+    }
+
+    private long writeFully(ByteBuffer src, long position) throws IOException {
+        while (src.hasRemaining()) {
+            position += channel.write(src, position);
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            int count = channel.read(dst, position + dst.position());
+            if (count < 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.biapp.serialport;
+
+/**
+ * 帧解码器
+ * <p>
+ * 在已接收的数据中查找第一个完整帧, 接收到完整帧后读取立即返回.
+ *
+ * @author Yun
+ * @see SerialPortClient#readFrame(FrameDecoder, int, long)
+ */
+public interface FrameDecoder {
+
+    /**
+     * 查找完整帧
+     *
+     * @param buffer 已接收数据
+     * @param offset 帧起始偏移
+     * @param length 已接收长度
+     * @return 第一个完整帧的长度, 数据不足时返回0
+     * @throws IllegalArgumentException 数据不是有效帧
+     */
+    int decode(byte[] buffer, int offset, int length);
+}
@@ -0,0 +1,72 @@
+package com.biapp.serialport;
+
+import aura.data.Bytes;
+import aura.data.Preconditions;
+
+/**
+ * 长度域帧解码器
+ * <p>
+ * 帧长度 = 长度域偏移 + 长度域长度 + 长度域值 + 长度调整值.
+ * 长度域按 {@link Bytes#getUnsigned(byte[], int, int, Bytes.ENDIAN)} 原地解析.
+ * <p>
+ * 例如 STX(1) LEN(2) DATA(LEN) LRC(1):
+ *
+ * <pre>
+ * {@code
+ * new LengthFieldFrameDecoder(1, 2, 1, Bytes.ENDIAN.BIG_ENDIAN)
+ * }
+ * </pre>
+ *
+ * @author Yun
+ */
+public class LengthFieldFrameDecoder implements FrameDecoder {
+
+    /**
+     * 长度域偏移
+     */
+    private final int lengthFieldOffset;
+
+    /**
+     * 长度域长度[1, 4]
+     */
+    private final int lengthFieldLength;
+
+    /**
+     * 长度调整值
+     */
+    private final int lengthAdjustment;
+
+    /**
+     * 长度域字节序
+     */
+    private final Bytes.ENDIAN endian;
+
+    public LengthFieldFrameDecoder(int lengthFieldOffset, int lengthFieldLength) {
+        this(lengthFieldOffset, lengthFieldLength, 0, Bytes.ENDIAN.BIG_ENDIAN);
+    }
+
+    public LengthFieldFrameDecoder(int lengthFieldOffset, int lengthFieldLength, int lengthAdjustment,
+            Bytes.ENDIAN endian) {
+        Preconditions.checkArgument(lengthFieldOffset >= 0, "Invalid lengthFieldOffset: %s", lengthFieldOffset);
+        Preconditions.checkArgument(lengthFieldLength >= 1 && lengthFieldLength <= 4,
+                "Invalid lengthFieldLength: %s", lengthFieldLength);
+        this.lengthFieldOffset = lengthFieldOffset;
+        this.lengthFieldLength = lengthFieldLength;
+        this.lengthAdjustment = lengthAdjustment;
+        this.endian = Preconditions.checkNotNull(endian, "endian");
+    }
+
+    @Override
+    public int decode(byte[] buffer, int offset, int length) {
+        int headerLength = lengthFieldOffset + lengthFieldLength;
+        if (length < headerLength) {
+            return 0;
+        }
+        long fieldValue = Bytes.getUnsigned(buffer, offset + lengthFieldOffset, lengthFieldLength, endian);
+        long frameLength = headerLength + fieldValue + lengthAdjustment;
+        if (frameLength < headerLength || frameLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid length field: " + fieldValue);
+        }
+        return length >= frameLength ? (int) frameLength : 0;
+    }
+}
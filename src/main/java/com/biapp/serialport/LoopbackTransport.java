@@ -0,0 +1,245 @@
+package com.biapp.serialport;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * 内存回环传输层
+ * <p>
+ * 写入的数据回显给读取端, 也可通过 {@link #inject(byte[], int, int)} 模拟设备主动发送.
+ * 按波特率限速(每字节{@value #BITS_PER_BYTE}位), 并可注入固定延迟和随机抖动, 用于无硬件的测试和基准测试.
+ *
+ * @author Yun
+ */
+public class LoopbackTransport implements SerialTransport {
+
+    /**
+     * 每字节位数(起始位+8数据位+停止位)
+     */
+    private static final int BITS_PER_BYTE = 10;
+
+    /**
+     * 设备名称
+     */
+    private final String name;
+
+    /**
+     * 每字节传输时间(ns), 0表示不限速
+     */
+    private final long nanosPerByte;
+
+    /**
+     * 延迟(ns)
+     */
+    private long latency;
+
+    /**
+     * 最大抖动(ns)
+     */
+    private long jitter;
+
+    /**
+     * 是否回显写入数据
+     */
+    private boolean echo = true;
+
+    private final Random random = new Random();
+
+    /**
+     * 待接收数据
+     */
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<Chunk>();
+
+    /**
+     * 线路空闲时间(ns)
+     */
+    private long lineFree;
+
+    private boolean open;
+
+    public LoopbackTransport(String name) {
+        this(name, 0);
+    }
+
+    /**
+     * @param name     设备名称
+     * @param baudRate 波特率, 0表示不限速
+     */
+    public LoopbackTransport(String name, int baudRate) {
+        if (baudRate < 0) {
+            throw new IllegalArgumentException("Invalid baudRate: " + baudRate);
+        }
+        this.name = name;
+        this.nanosPerByte = baudRate == 0 ? 0 : BITS_PER_BYTE * 1000000000L / baudRate;
+    }
+
+    /**
+     * 设置延迟和抖动
+     *
+     * @param latency 固定延迟
+     * @param jitter  最大随机抖动
+     */
+    public synchronized void setLatency(Duration latency, Duration jitter) {
+        this.latency = latency.toNanos();
+        this.jitter = jitter.toNanos();
+    }
+
+    /**
+     * 设置是否回显写入数据
+     *
+     * @param echo
+     */
+    public synchronized void setEcho(boolean echo) {
+        this.echo = echo;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public synchronized boolean open() {
+        open = true;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * 模拟设备发送数据
+     *
+     * @param data   数据
+     * @param offset 偏移
+     * @param len    长度
+     */
+    public synchronized void inject(byte[] data, int offset, int len) {
+        if (!open || len <= 0) {
+            return;
+        }
+        long delay = latency + (jitter > 0 ? (long) (random.nextDouble() * jitter) : 0);
+        long start = Math.max(System.nanoTime() + delay, lineFree);
+        byte[] copy = new byte[len];
+        System.arraycopy(data, offset, copy, 0, len);
+        chunks.add(new Chunk(copy, start));
+        lineFree = start + len * nanosPerByte;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int len, int min, long timeOut) throws IOException {
+        if (!open) {
+            return -1;
+        }
+        int index = 0;
+        long deadline = System.nanoTime() + timeOut * 1000000L;
+        while (true) {
+            long now = System.nanoTime();
+            // 取出已到达的数据
+            while (index < len && !chunks.isEmpty()) {
+                Chunk chunk = chunks.peek();
+                int count = Math.min(chunk.arrived(now, nanosPerByte) - chunk.pos, len - index);
+                if (count <= 0) {
+                    break;
+                }
+                System.arraycopy(chunk.data, chunk.pos, buffer, offset + index, count);
+                chunk.pos += count;
+                index += count;
+                if (chunk.pos == chunk.data.length) {
+                    chunks.poll();
+                }
+            }
+            if (index >= min || !open) {
+                break;
+            }
+            long wait = deadline - now;
+            if (wait <= 0) {
+                break;
+            }
+            if (!chunks.isEmpty()) {
+                wait = Math.min(wait, chunks.peek().next(nanosPerByte) - now);
+            }
+            if (wait > 0) {
+                try {
+                    wait(wait / 1000000L, (int) (wait % 1000000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int len) throws IOException {
+        synchronized (this) {
+            if (!open) {
+                throw new IOException(name + " is not open");
+            }
+            if (echo) {
+                inject(data, offset, len);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        chunks.clear();
+        lineFree = 0;
+        notifyAll();
+    }
+
+    /**
+     * 待接收数据块
+     */
+    private static class Chunk {
+
+        final byte[] data;
+
+        /**
+         * 开始到达时间(ns)
+         */
+        final long start;
+
+        /**
+         * 已读取长度
+         */
+        int pos;
+
+        Chunk(byte[] data, long start) {
+            this.data = data;
+            this.start = start;
+        }
+
+        /**
+         * 已到达长度
+         */
+        int arrived(long now, long nanosPerByte) {
+            if (now < start) {
+                return 0;
+            }
+            if (nanosPerByte == 0) {
+                return data.length;
+            }
+            return (int) Math.min(data.length, (now - start) / nanosPerByte);
+        }
+
+        /**
+         * 下一字节到达时间(ns)
+         */
+        long next(long nanosPerByte) {
+            return start + (pos + 1) * nanosPerByte;
+        }
+    }
+}
@@ -39,9 +39,7 @@ public class Main {
         if (scan.hasNext()) {
             String input = scan.next();
             if (input.equals("1")) {
-                for (int i = 0; i < SerialPortClient.getSerialPortList().size(); i++) {
-                    devNames.add(SerialPortClient.getSerialPortList().get(i));
-                }
+                devNames.addAll(SerialPortClient.getSerialPortList());
                 setDevName(devNames);
             } else if (input.equals("2")) {
                 System.out.println("谢谢使用再见!!!");
@@ -246,27 +244,35 @@ public class Main {
                 if (input.equals("0")) {
                     client.close();
                     mainMenu();
-                }else if (input.matches("^[A-Fa-f0-9]+$")){
+                }else {
+                    byte[] sendData = null;
                     try{
-                        if(client.sendData(Bytes.fromHexString(input))){
-                            byte[] data =client.readData(1024, 1000);
-                            if(Bytes.isNullOrEmpty(data)){
-                                PrintfUtil.e("SerialPortTool",devName+":"+"接收数据失败");
-                                openDev(false);
+                        sendData = Bytes.fromHexString(input);
+                    }catch (IllegalArgumentException e){
+                        // 非16进制字符串
+                    }
+                    if (sendData == null){
+                        client.close();
+                        openDev(false);
+                    }else{
+                        try{
+                            if(client.sendData(sendData)){
+                                byte[] data =client.readData(1024, 1000);
+                                if(Bytes.isNullOrEmpty(data)){
+                                    PrintfUtil.e("SerialPortTool",devName+":"+"接收数据失败");
+                                    openDev(false);
+                                }else{
+                                    openDev(false);
+                                }
                             }else{
+                                PrintfUtil.e("SerialPortTool",devName+":"+"发送数据失败");
                                 openDev(false);
                             }
-                        }else{
-                            PrintfUtil.e("SerialPortTool",devName+":"+"发送数据失败");
+                        }catch (Exception e){
+                            PrintfUtil.e("SerialPortTool",e.getMessage());
                             openDev(false);
                         }
-                    }catch (Exception e){
-                        PrintfUtil.e("SerialPortTool",e.getMessage());
-                        openDev(false);
                     }
-                }else {
-                    client.close();
-                    openDev(false);
                 }
             }
             scan.close();
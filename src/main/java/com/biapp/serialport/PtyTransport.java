@@ -0,0 +1,144 @@
+package com.biapp.serialport;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.biapp.util.PrintfUtil;
+
+/**
+ * Linux伪终端传输层
+ * <p>
+ * 打开一个伪终端(如/dev/pts/3)并用stty设置为raw模式. 伪终端对可通过 {@link #createPair()} 使用socat创建,
+ * 两端分别交给被测程序和模拟设备.
+ *
+ * @author Yun
+ */
+public class PtyTransport extends StreamTransport {
+
+    /**
+     * 伪终端路径
+     */
+    private final String path;
+
+    /**
+     * 波特率, 0表示不设置
+     */
+    private final int baudRate;
+
+    public PtyTransport(String path) {
+        this(path, 0);
+    }
+
+    /**
+     * @param path     伪终端路径
+     * @param baudRate 波特率, 0表示不设置
+     */
+    public PtyTransport(String path, int baudRate) {
+        this.path = path;
+        this.baudRate = baudRate;
+    }
+
+    @Override
+    public String getName() {
+        return new File(path).getName();
+    }
+
+    @Override
+    public boolean open() {
+        try {
+            stty(baudRate == 0 ? new String[] { "raw", "-echo" }
+                    : new String[] { "raw", "-echo", String.valueOf(baudRate) });
+            inputStream = new FileInputStream(path);
+            outputStream = new FileOutputStream(path);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            close();
+            return false;
+        }
+    }
+
+    private void stty(String... settings) throws IOException {
+        String[] command = new String[settings.length + 3];
+        command[0] = "stty";
+        command[1] = "-F";
+        command[2] = path;
+        System.arraycopy(settings, 0, command, 3, settings.length);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            if (!process.waitFor(5, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                PrintfUtil.e(getName(), "stty failed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            process.destroy();
+        }
+    }
+
+    /**
+     * 使用socat创建一对互连的伪终端
+     *
+     * @return 伪终端对, 使用后需关闭
+     * @throws IOException socat不可用或创建失败
+     */
+    public static Pair createPair() throws IOException {
+        Process process = new ProcessBuilder("socat", "-d", "-d", "pty,raw,echo=0", "pty,raw,echo=0")
+                .redirectErrorStream(true).start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        Pattern pattern = Pattern.compile("PTY is (\\S+)");
+        String[] paths = new String[2];
+        int count = 0;
+        String line;
+        while (count < 2 && (line = reader.readLine()) != null) {
+            Matcher matcher = pattern.matcher(line);
+            if (matcher.find()) {
+                paths[count++] = matcher.group(1);
+            }
+        }
+        if (count < 2) {
+            process.destroy();
+            throw new IOException("socat failed to create pty pair");
+        }
+        return new Pair(process, paths[0], paths[1]);
+    }
+
+    /**
+     * 伪终端对
+     */
+    public static class Pair implements Closeable {
+
+        private final Process process;
+
+        private final String first;
+
+        private final String second;
+
+        Pair(Process process, String first, String second) {
+            this.process = process;
+            this.first = first;
+            this.second = second;
+        }
+
+        public String getFirst() {
+            return first;
+        }
+
+        public String getSecond() {
+            return second;
+        }
+
+        @Override
+        public void close() {
+            process.destroy();
+        }
+    }
+}
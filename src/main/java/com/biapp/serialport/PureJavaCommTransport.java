@@ -0,0 +1,163 @@
+package com.biapp.serialport;
+
+import java.io.IOException;
+
+import com.biapp.util.PrintfUtil;
+
+import purejavacomm.CommPortIdentifier;
+import purejavacomm.PortInUseException;
+import purejavacomm.SerialPort;
+import purejavacomm.UnsupportedCommOperationException;
+
+/**
+ * purejavacomm串口传输层
+ * <p>
+ * 使用串口的接收阈值和接收超时实现阻塞批量读取.
+ *
+ * @author Yun
+ */
+public class PureJavaCommTransport extends StreamTransport {
+
+    /**
+     * 串口
+     */
+    private SerialPort serialPort;
+
+    /**
+     * 设备名称
+     */
+    private final String devName;
+
+    /**
+     * 波特率
+     */
+    private final int baudRate;
+
+    /**
+     * 奇偶性
+     */
+    private final int parity;
+
+    /**
+     * 数据位
+     */
+    private final int dataBits;
+
+    /**
+     * 停止数据位
+     */
+    private final int stopBits;
+
+    /**
+     * 连接超时
+     */
+    private int connectTimeOut = 2000;
+
+    /**
+     * 是否支持接收超时
+     */
+    private boolean receiveTimeout;
+
+    /**
+     * 当前接收阈值
+     */
+    private int receiveThreshold = -1;
+
+    /**
+     * 当前接收超时(ms)
+     */
+    private int receiveTimeOut = -1;
+
+    public PureJavaCommTransport(String devName, int baudRate, int parity, int dataBits, int stopBits) {
+        this.devName = devName;
+        this.baudRate = baudRate;
+        this.parity = parity;
+        this.dataBits = dataBits;
+        this.stopBits = stopBits;
+    }
+
+    public void setConnectTimeOut(int connectTimeOut) {
+        this.connectTimeOut = connectTimeOut;
+    }
+
+    @Override
+    public String getName() {
+        return devName;
+    }
+
+    @Override
+    public boolean open() {
+        boolean open = false;
+        try {
+            CommPortIdentifier commPortIdentifier = getCommPortIdentifier();
+            if (commPortIdentifier == null) {
+                PrintfUtil.e(devName, "port not found");
+                return false;
+            }
+            serialPort = (SerialPort) commPortIdentifier.open(this.getClass().getName() + "@" + this.hashCode(),
+                    connectTimeOut);
+            serialPort.setSerialPortParams(baudRate, dataBits, stopBits, parity);
+            inputStream = serialPort.getInputStream();
+            outputStream = serialPort.getOutputStream();
+            receiveTimeout = true;
+            receiveThreshold = -1;
+            receiveTimeOut = -1;
+            open = true;
+        } catch (PortInUseException e) {
+            e.printStackTrace();
+        } catch (UnsupportedCommOperationException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return open;
+    }
+
+    @Override
+    protected boolean setReceiveLimit(int threshold, long timeOut) {
+        if (!receiveTimeout) {
+            return false;
+        }
+        try {
+            if (threshold != receiveThreshold) {
+                serialPort.enableReceiveThreshold(threshold);
+                receiveThreshold = threshold;
+            }
+            int timeout = (int) Math.min(timeOut, Integer.MAX_VALUE);
+            if (timeout != receiveTimeOut) {
+                serialPort.enableReceiveTimeout(timeout);
+                receiveTimeOut = timeout;
+            }
+            return true;
+        } catch (UnsupportedCommOperationException e) {
+            // 不支持时退化为轮询
+            receiveTimeout = false;
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (serialPort != null) {
+            serialPort.close();
+            serialPort = null;
+        }
+        super.close();
+    }
+
+    /**
+     * 获得串口
+     * 
+     * @return
+     */
+    private CommPortIdentifier getCommPortIdentifier() {
+        SerialPortRegistry registry = SerialPortRegistry.getInstance();
+        CommPortIdentifier commPortIdentifier = registry.get(devName);
+        if (commPortIdentifier == null) {
+            // 缓存中没有时重新枚举一次, 新插入的设备可能还未刷新
+            registry.refresh();
+            commPortIdentifier = registry.get(devName);
+        }
+        return commPortIdentifier;
+    }
+}
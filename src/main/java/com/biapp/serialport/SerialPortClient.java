@@ -1,20 +1,25 @@
 package com.biapp.serialport;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.util.ArrayList;
-import java.util.Enumeration;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import com.biapp.util.PrintfUtil;
+import com.biapp.util.PrintfUtil.Level;
 
+import aura.data.ByteBuf;
+import aura.data.ByteBufPool;
 import aura.data.Bytes;
-import purejavacomm.CommPortIdentifier;
-import purejavacomm.PortInUseException;
+import aura.data.StreamMatcher;
 import purejavacomm.SerialPort;
-import purejavacomm.UnsupportedCommOperationException;
 
 /**
  * @author Yun
@@ -22,9 +27,9 @@ import purejavacomm.UnsupportedCommOperationException;
 public class SerialPortClient {
 
     /**
-     * 串口
+     * 传输层
      */
-    private SerialPort serialPort;
+    private final SerialTransport transport;
 
     /**
      * 设备名称 
@@ -84,19 +89,89 @@ public class SerialPortClient {
     protected int stopBits = SerialPort.STOPBITS_1;
 
     /**
-     * 输入流
+     * 连接超时
      */
-    private InputStream inputStream;
+    protected int connectTimeOut = 2000;
 
     /**
-     * 输出流
+     * 发送日志标签
      */
-    private OutputStream outputStream;
+    private final String sendTag;
 
     /**
-     * 连接超时
+     * 接收日志标签
      */
-    protected int connectTimeOut = 2000;
+    private final String readTag;
+
+    /**
+     * 后台读线程单次读取超时(ms)
+     */
+    private static final long READER_INTERVAL = 100;
+
+    /**
+     * 后台读线程单次读取长度
+     */
+    private static final int READER_CHUNK = 4096;
+
+    /**
+     * 后台读线程接收缓冲区
+     */
+    private volatile ByteRingBuffer ringBuffer;
+
+    /**
+     * 后台读线程
+     */
+    private Reader reader;
+
+    /**
+     * 帧接收缓冲区池, 串口关闭时归还
+     */
+    private static final ByteBufPool FRAME_POOL = new ByteBufPool(16, 4096, 64 * 1024);
+
+    /**
+     * 帧接收缓冲区, 保存已接收但未读取的数据, 只在 {@link #frameLock} 内访问
+     */
+    private ByteBuf frameBuffer;
+
+    /**
+     * 帧接收缓冲区锁, 关闭时持有该锁归还缓冲区, 归还后正在进行的读取不会再访问
+     */
+    private final Object frameLock = new Object();
+
+    /**
+     * 关闭时等待异步请求结束的时间(ms)
+     */
+    private static final long CLOSE_TIMEOUT = 1000;
+
+    /**
+     * 直接缓冲区发送中转数组
+     */
+    private byte[] sendBuffer = new byte[0];
+
+    /**
+     * 直接缓冲区接收中转数组
+     */
+    private byte[] readBuffer = new byte[0];
+
+    /**
+     * 异步请求默认最大帧长度
+     */
+    private static final int MAX_FRAME_LENGTH = 4096;
+
+    /**
+     * 异步执行器, 同一串口的异步请求按提交顺序执行
+     */
+    private ExecutorService executor;
+
+    /**
+     * 收发统计
+     */
+    private final SerialPortStats stats = new SerialPortStats();
+
+    /**
+     * 帧抓包, 为null时不记录
+     */
+    private volatile FrameCaptureWriter capture;
 
     public SerialPortClient(String devName, int baudRate, int parity, int dataBits, int stopBits) {
         this.devName = devName;
@@ -104,10 +179,66 @@ public class SerialPortClient {
         this.parity = parity;
         this.dataBits = dataBits;
         this.stopBits = stopBits;
+        this.transport = new PureJavaCommTransport(devName, baudRate, parity, dataBits, stopBits);
+        this.sendTag = devName + "-Send";
+        this.readTag = devName + "-Read";
+    }
+
+    /**
+     * @param transport 传输层
+     */
+    public SerialPortClient(SerialTransport transport) {
+        this.devName = transport.getName();
+        this.transport = transport;
+        this.sendTag = devName + "-Send";
+        this.readTag = devName + "-Read";
     }
 
     public void setConnectTimeOut(int connectTimeOut) {
         this.connectTimeOut = connectTimeOut;
+        if (transport instanceof PureJavaCommTransport) {
+            ((PureJavaCommTransport) transport).setConnectTimeOut(connectTimeOut);
+        }
+    }
+
+    /**
+     * 获得传输层
+     *
+     * @return
+     */
+    public SerialTransport getTransport() {
+        return transport;
+    }
+
+    public String getDevName() {
+        return devName;
+    }
+
+    /**
+     * 获得收发统计
+     *
+     * @return
+     */
+    public SerialPortStats getStats() {
+        return stats;
+    }
+
+    /**
+     * 设置帧抓包, 收发成功的数据以原始字节记录
+     *
+     * @param capture 抓包写入, null表示停止记录
+     */
+    public void setCapture(FrameCaptureWriter capture) {
+        this.capture = capture;
+    }
+
+    /**
+     * 获得帧抓包
+     *
+     * @return
+     */
+    public FrameCaptureWriter getCapture() {
+        return capture;
     }
 
     /**
@@ -116,21 +247,7 @@ public class SerialPortClient {
      * @return
      */
     public boolean open() {
-        boolean open = false;
-        try {
-            serialPort = (SerialPort) getCommPortIdentifier().open(this.getClass().getName() + "@" + this.hashCode(),connectTimeOut);
-            serialPort.setSerialPortParams(baudRate, dataBits, stopBits, parity);
-            inputStream = serialPort.getInputStream();
-            outputStream = serialPort.getOutputStream();
-            open = true;
-        } catch (PortInUseException e) {
-            e.printStackTrace();
-        } catch (UnsupportedCommOperationException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return open;
+        return transport.open();
     }
 
     /**
@@ -141,13 +258,54 @@ public class SerialPortClient {
      */
     public boolean sendData(byte[] sendData) throws IOException {
         boolean send = false;
-        PrintfUtil.d(devName + "-Send", Bytes.toHexString(sendData));
-        if (outputStream != null) {
-            outputStream.write(sendData);
-            outputStream.flush();
+        PrintfUtil.d(sendTag, "{}", sendData);
+        if (transport.isOpen()) {
+            transport.write(sendData, 0, sendData.length);
+            transport.flush();
+            stats.recordSend(sendData.length);
+            capture(FrameCapture.Direction.SEND, sendData, 0, sendData.length);
+            send = true;
+        } else {
+            PrintfUtil.e(sendTag, "port is not open");
+        }
+        return send;
+    }
+
+    /**
+     * 发送缓冲区数据
+     * 发送缓冲区position到limit之间的数据, 发送后position等于limit
+     *
+     * @param sendData 缓冲区(堆内或直接缓冲区)
+     * @return
+     */
+    public boolean sendData(ByteBuffer sendData) throws IOException {
+        boolean send = false;
+        int len = sendData.remaining();
+        if (PrintfUtil.isLoggable(Level.DEBUG, sendTag)) {
+            PrintfUtil.d(sendTag, toHexString(sendData, sendData.position(), len));
+        }
+        if (transport.isOpen()) {
+            int start = sendData.position();
+            if (sendData.hasArray()) {
+                transport.write(sendData.array(), sendData.arrayOffset() + sendData.position(), len);
+                sendData.position(sendData.limit());
+            } else {
+                byte[] buffer = sendBuffer;
+                if (buffer.length < Math.min(len, READER_CHUNK)) {
+                    buffer = sendBuffer = new byte[Math.min(len, READER_CHUNK)];
+                }
+                while (sendData.hasRemaining()) {
+                    int count = Math.min(sendData.remaining(), buffer.length);
+                    sendData.get(buffer, 0, count);
+                    transport.write(buffer, 0, count);
+                }
+            }
+            transport.flush();
+            stats.recordSend(len);
+            capture(FrameCapture.Direction.SEND, sendData, start, len);
             send = true;
         } else {
-            PrintfUtil.e(devName + "-Send", "outputStream is null");
+            PrintfUtil.e(sendTag, "port is not open");
         }
         return send;
     }
@@ -163,60 +321,618 @@ public class SerialPortClient {
         if (len <= 0) {
             return null;
         }
+        if (!transport.isOpen()) {
+            PrintfUtil.e(readTag, "port is not open");
+            return null;
+        }
         byte[] read = new byte[len];
+        int index = drainFrameBuffer(read, 0, len);
         try {
-            int index = 0;
-            long start = System.currentTimeMillis();
-            do {
-                if (inputStream != null) {
-                    if (inputStream.available() > 0) {
-                        inputStream.read(read, index, 1);
-                        index++;
-                    } else {
-                        // PrintfUtil.e(deviceName + "-Read", "available=" + inputStream.available());
+            if (index < len) {
+                int count = receive(read, index, len - index, len - index, timeOut);
+                if (count > 0) {
+                    index += count;
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        if (index <= 0) {
+            throw new TimeoutException(devName + "read " + "time out");
+        }
+        if (index < len) {
+            PrintfUtil.e(readTag, "read buffer=" + index + "(" + "request=" + len + ")");
+            read = Bytes.subBytes(read, 0, index);
+        }
+        stats.recordReceive(read.length);
+        capture(FrameCapture.Direction.RECEIVE, read, 0, read.length);
+        PrintfUtil.d(readTag, "{}", read);
+        return read;
+    }
+
+    /**
+     * 读取数据到缓冲区
+     * 读取长度为缓冲区剩余长度, 直接读取到调用方缓冲区, 可重复使用以避免每次分配
+     *
+     * @param readData 缓冲区(堆内或直接缓冲区)
+     * @param timeOut  超时(ms)
+     * @return 实际读取长度, 读取失败时为-1
+     * @throws TimeoutException
+     */
+    public int readData(ByteBuffer readData, long timeOut) throws TimeoutException {
+        int len = readData.remaining();
+        if (len <= 0) {
+            return 0;
+        }
+        if (!transport.isOpen()) {
+            PrintfUtil.e(readTag, "port is not open");
+            return -1;
+        }
+        int start = readData.position();
+        int index = drainFrameBuffer(readData, len);
+        try {
+            if (index < len) {
+                int count;
+                if (readData.hasArray()) {
+                    count = receive(readData.array(), readData.arrayOffset() + readData.position(), len - index,
+                            len - index, timeOut);
+                    if (count > 0) {
+                        readData.position(readData.position() + count);
                     }
                 } else {
-                    PrintfUtil.e(devName + "-Read", "inputStream is null");
+                    count = receiveDirect(readData, len - index, timeOut);
                 }
-                if ((System.currentTimeMillis() - start) > timeOut) {
-                    if (index == 0) {
-                        throw new TimeoutException(devName + "read " + "time out");
-                    } else {
-                        PrintfUtil.e(devName + "-Read", "read buffer=" + index + "(" + "request=" + len + ")");
-                        read = Bytes.subBytes(read, 0, index);
-                        break;
-                    }
+                if (count > 0) {
+                    index += count;
                 }
-            } while (index < len && inputStream != null);
+            }
         } catch (IOException e) {
             e.printStackTrace();
-            read = null;
+            return -1;
+        }
+        if (index <= 0) {
+            throw new TimeoutException(devName + "read " + "time out");
+        }
+        if (index < len) {
+            PrintfUtil.e(readTag, "read buffer=" + index + "(" + "request=" + len + ")");
+        }
+        stats.recordReceive(index);
+        capture(FrameCapture.Direction.RECEIVE, readData, start, index);
+        if (PrintfUtil.isLoggable(Level.DEBUG, readTag)) {
+            PrintfUtil.d(readTag, toHexString(readData, start, index));
+        }
+        return index;
+    }
+
+    /**
+     * 读取数据到直接缓冲区
+     *
+     * @param readData 直接缓冲区
+     * @param len      读取长度
+     * @param timeOut  超时(ms)
+     * @return 实际读取长度, -1表示流已结束
+     * @throws IOException
+     */
+    private int receiveDirect(ByteBuffer readData, int len, long timeOut) throws IOException {
+        if (readBuffer.length < len) {
+            readBuffer = new byte[len];
         }
-        if (read != null) {
-            PrintfUtil.d(devName + "-Read", Bytes.toHexString(read));
+        int count = receive(readBuffer, 0, len, len, timeOut);
+        if (count > 0) {
+            readData.put(readBuffer, 0, count);
         }
-        if (inputStream == null) {
-            PrintfUtil.e(devName + "-Read", "inputStream is null");
+        return count;
+    }
+
+    /**
+     * 读取一帧数据
+     * 接收到完整帧后立即返回, 帧之后多余的数据保留到下次读取
+     *
+     * @param decoder 帧解码器
+     * @param maxLen  最大帧长度
+     * @param timeOut 超时(ms)
+     * @return 帧数据, 帧超长或读取失败时为null
+     * @throws TimeoutException
+     */
+    public byte[] readFrame(FrameDecoder decoder, int maxLen, long timeOut) throws TimeoutException {
+        byte[] read;
+        synchronized (frameLock) {
+            int frame = awaitFrame(decoder, maxLen, timeOut);
+            if (frame <= 0) {
+                return null;
+            }
+            read = new byte[frame];
+            drainFrameBuffer(read, 0, frame);
         }
+        stats.recordReceive(read.length);
+        capture(FrameCapture.Direction.RECEIVE, read, 0, read.length);
+        PrintfUtil.d(readTag, "{}", read);
         return read;
     }
 
     /**
-     * 关闭
+     * 读取一帧数据到缓冲区
+     * 最大帧长度为缓冲区剩余长度
+     *
+     * @param decoder  帧解码器
+     * @param readData 缓冲区(堆内或直接缓冲区)
+     * @param timeOut  超时(ms)
+     * @return 帧长度, 帧超长或读取失败时为-1
+     * @throws TimeoutException
      */
-    public void close() {
-        try {
-            if (serialPort != null) {
-                serialPort.close();
+    public int readFrame(FrameDecoder decoder, ByteBuffer readData, long timeOut) throws TimeoutException {
+        int frame;
+        int start = readData.position();
+        synchronized (frameLock) {
+            frame = awaitFrame(decoder, readData.remaining(), timeOut);
+            if (frame <= 0) {
+                return -1;
             }
-            if (inputStream != null) {
-                inputStream.close();
+            drainFrameBuffer(readData, frame);
+        }
+        stats.recordReceive(frame);
+        capture(FrameCapture.Direction.RECEIVE, readData, start, frame);
+        if (PrintfUtil.isLoggable(Level.DEBUG, readTag)) {
+            PrintfUtil.d(readTag, toHexString(readData, start, frame));
+        }
+        return frame;
+    }
+
+    /**
+     * 跳过数据直到同步字
+     * 匹配状态保存在匹配器中, 跨越多次读取的同步字也能找到, 同步字之后的数据保留到下次读取
+     *
+     * @param matcher 同步字匹配器
+     * @param timeOut 超时(ms)
+     * @return 跳过的字节数(含同步字), 读取失败时为-1
+     * @throws TimeoutException
+     */
+    public long seek(StreamMatcher matcher, long timeOut) throws TimeoutException {
+        if (!transport.isOpen()) {
+            PrintfUtil.e(readTag, "port is not open");
+            return -1;
+        }
+        synchronized (frameLock) {
+            ByteBuf frame = getFrameBuffer();
+            long start = matcher.position();
+            long deadline = System.currentTimeMillis() + timeOut;
+            try {
+                while (true) {
+                    int offset = frame.arrayOffset();
+                    int end = matcher.find(frame.array(), offset + frame.readerIndex(), frame.readableBytes());
+                    if (end >= 0) {
+                        frame.readerIndex(end - offset);
+                        return matcher.position() - start;
+                    }
+                    frame.clear();
+                    long remain = deadline - System.currentTimeMillis();
+                    if (remain <= 0) {
+                        break;
+                    }
+                    int count = receive(frame.array(), offset, frame.capacity(), 1, remain);
+                    if (count < 0) {
+                        break;
+                    }
+                    frame.writerIndex(count);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                return -1;
             }
-            if (outputStream != null) {
-                outputStream.close();
+        }
+        throw new TimeoutException(devName + "seek " + "time out");
+    }
+
+    /**
+     * 等待完整帧
+     * 完整帧位于帧接收缓冲区头部, 调用方持有 {@link #frameLock}
+     *
+     * @param decoder 帧解码器
+     * @param maxLen  最大帧长度
+     * @param timeOut 超时(ms)
+     * @return 帧长度, 帧超长或读取失败时为-1
+     * @throws TimeoutException
+     */
+    private int awaitFrame(FrameDecoder decoder, int maxLen, long timeOut) throws TimeoutException {
+        if (maxLen <= 0) {
+            return -1;
+        }
+        if (!transport.isOpen()) {
+            PrintfUtil.e(readTag, "port is not open");
+            return -1;
+        }
+        ByteBuf buffer = getFrameBuffer();
+        long deadline = System.currentTimeMillis() + timeOut;
+        try {
+            while (true) {
+                int length = buffer.readableBytes();
+                int frame = length > 0 ? decode(decoder, buffer) : 0;
+                if (frame < 0) {
+                    buffer.clear();
+                    return -1;
+                }
+                if (frame > maxLen) {
+                    // 丢弃超长帧, 已完整接收时保留其后的数据
+                    PrintfUtil.e(readTag, "frame too long(" + "frame=" + frame + ", max=" + maxLen + ")");
+                    if (frame <= length) {
+                        buffer.skipBytes(frame);
+                    } else {
+                        buffer.clear();
+                    }
+                    return -1;
+                }
+                if (frame > 0 && frame <= length) {
+                    return frame;
+                }
+                if (length >= maxLen) {
+                    PrintfUtil.e(readTag, "frame too long(" + "max=" + maxLen + ")");
+                    buffer.clear();
+                    return -1;
+                }
+                long remain = deadline - System.currentTimeMillis();
+                if (remain <= 0) {
+                    break;
+                }
+                buffer.ensureWritable(maxLen - length);
+                int count = receive(buffer.array(), buffer.arrayOffset() + buffer.writerIndex(), maxLen - length, 1,
+                        remain);
+                if (count < 0) {
+                    break;
+                }
+                buffer.writerIndex(buffer.writerIndex() + count);
             }
         } catch (IOException e) {
             e.printStackTrace();
+            return -1;
+        }
+        throw new TimeoutException(devName + "read frame " + "time out");
+    }
+
+    /**
+     * 在帧接收缓冲区中查找完整帧
+     *
+     * @param decoder 帧解码器
+     * @param buffer  帧接收缓冲区
+     * @return 帧长度, 数据不足时为0, 数据不是有效帧时为-1
+     */
+    private int decode(FrameDecoder decoder, ByteBuf buffer) {
+        try {
+            return decoder.decode(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(),
+                    buffer.readableBytes());
+        } catch (IllegalArgumentException e) {
+            // 解码器以IllegalArgumentException表示无效帧
+            PrintfUtil.e(readTag, "invalid frame: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 异步发送数据
+     *
+     * @param sendData
+     * @return
+     */
+    public CompletableFuture<Boolean> sendAsync(byte[] sendData) {
+        return submit(() -> sendData(sendData));
+    }
+
+    /**
+     * 异步请求应答
+     * 发送请求后读取一帧应答, 最大帧长度{@value #MAX_FRAME_LENGTH}
+     *
+     * @param request 请求数据
+     * @param decoder 应答帧解码器
+     * @param timeOut 应答超时
+     * @return 应答帧, 超时以 {@link TimeoutException} 异常完成
+     */
+    public CompletableFuture<byte[]> transact(byte[] request, FrameDecoder decoder, Duration timeOut) {
+        return transact(request, decoder, MAX_FRAME_LENGTH, timeOut);
+    }
+
+    /**
+     * 异步请求应答
+     * 发送请求后读取一帧应答
+     *
+     * @param request 请求数据
+     * @param decoder 应答帧解码器
+     * @param maxLen  最大帧长度
+     * @param timeOut 应答超时
+     * @return 应答帧, 超时以 {@link TimeoutException} 异常完成
+     */
+    public CompletableFuture<byte[]> transact(byte[] request, FrameDecoder decoder, int maxLen, Duration timeOut) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            byte[] response = null;
+            try {
+                if (!sendData(request)) {
+                    throw new IOException(devName + " send failed");
+                }
+                response = readFrame(decoder, maxLen, timeOut.toMillis());
+                if (response == null) {
+                    throw new IOException(devName + " read frame failed");
+                }
+                return response;
+            } finally {
+                stats.recordTransaction(System.nanoTime() - start, response != null);
+            }
+        });
+    }
+
+    /**
+     * 提交到异步执行器
+     *
+     * @param task
+     * @return
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<T>();
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 获得异步执行器
+     *
+     * @return
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, devName + "-Executor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * 从帧接收缓冲区取出数据
+     *
+     * @param buffer 缓冲区
+     * @param offset 缓冲区偏移
+     * @param len    最大长度
+     * @return 实际取出长度
+     */
+    private int drainFrameBuffer(byte[] buffer, int offset, int len) {
+        synchronized (frameLock) {
+            int count = frameBuffer == null ? 0 : Math.min(frameBuffer.readableBytes(), len);
+            if (count > 0) {
+                frameBuffer.readBytes(buffer, offset, count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 从帧接收缓冲区取出数据到缓冲区
+     *
+     * @param buffer 缓冲区
+     * @param len    最大长度
+     * @return 实际取出长度
+     */
+    private int drainFrameBuffer(ByteBuffer buffer, int len) {
+        synchronized (frameLock) {
+            int count = frameBuffer == null ? 0 : Math.min(frameBuffer.readableBytes(), len);
+            if (count > 0) {
+                buffer.put(frameBuffer.array(), frameBuffer.arrayOffset() + frameBuffer.readerIndex(), count);
+                frameBuffer.skipBytes(count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 获得帧接收缓冲区, 首次使用时从缓冲区池取出
+     *
+     * @return
+     */
+    private ByteBuf getFrameBuffer() {
+        synchronized (frameLock) {
+            if (frameBuffer == null) {
+                frameBuffer = FRAME_POOL.acquire();
+            }
+            return frameBuffer;
+        }
+    }
+
+    /**
+     * 记录抓包
+     *
+     * @param direction 方向
+     * @param data      数据
+     * @param offset    偏移
+     * @param len       长度
+     */
+    private void capture(FrameCapture.Direction direction, byte[] data, int offset, int len) {
+        FrameCaptureWriter writer = capture;
+        if (writer != null) {
+            writer.record(devName, direction, data, offset, len);
+        }
+    }
+
+    /**
+     * 记录抓包, 不改变缓冲区位置
+     *
+     * @param direction 方向
+     * @param buffer    缓冲区
+     * @param start     起始位置
+     * @param len       长度
+     */
+    private void capture(FrameCapture.Direction direction, ByteBuffer buffer, int start, int len) {
+        FrameCaptureWriter writer = capture;
+        if (writer != null) {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.limit(start + len).position(start);
+            writer.record(devName, direction, duplicate);
+        }
+    }
+
+    /**
+     * 缓冲区指定范围转16进制字符串, 不改变缓冲区位置
+     *
+     * @param buffer 缓冲区
+     * @param start  起始位置
+     * @param len    长度
+     * @return
+     */
+    private static String toHexString(ByteBuffer buffer, int start, int len) {
+        if (buffer.hasArray()) {
+            return Bytes.appendHex(new StringBuilder(len << 1), buffer.array(), buffer.arrayOffset() + start, len)
+                    .toString();
+        }
+        byte[] data = new byte[len];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(start);
+        duplicate.get(data);
+        return Bytes.toHexString(data);
+    }
+
+    /**
+     * 接收数据
+     * 后台读线程运行时从接收缓冲区读取, 否则直接读取串口
+     *
+     * @param buffer  缓冲区
+     * @param offset  缓冲区偏移
+     * @param len     最大读取长度
+     * @param min     最小读取长度
+     * @param timeOut 超时(ms)
+     * @return 实际读取长度, -1表示流已结束
+     * @throws IOException
+     */
+    private int receive(byte[] buffer, int offset, int len, int min, long timeOut) throws IOException {
+        ByteRingBuffer ring = ringBuffer;
+        if (ring != null) {
+            // 分段读取, 每段不超过接收缓冲区容量的一半, 避免等待期间溢出
+            long deadline = System.nanoTime() + timeOut * 1000000L;
+            int count = ring.read(buffer, offset, len);
+            while (count < min) {
+                long remain = deadline - System.nanoTime();
+                if (remain <= 0) {
+                    break;
+                }
+                ring.await(Math.min(min - count, Math.max(1, ring.capacity() >> 1)), (remain + 999999) / 1000000);
+                count += ring.read(buffer, offset + count, len - count);
+            }
+            return count;
+        }
+        return transport.read(buffer, offset, len, min, timeOut);
+    }
+
+    /**
+     * 启动后台读线程
+     * 读线程持续将串口数据读入接收缓冲区, 之后的读取均从接收缓冲区获取.
+     * 接收缓冲区只允许一个消费者线程访问.
+     *
+     * @param capacity 接收缓冲区容量
+     * @return 是否启动
+     */
+    public synchronized boolean startReader(int capacity) {
+        if (!transport.isOpen()) {
+            PrintfUtil.e(devName + "-Reader", "port is not open");
+            return false;
+        }
+        if (reader != null && !reader.running) {
+            PrintfUtil.e(devName + "-Reader", "reader is stopping");
+            return false;
+        }
+        if (reader == null) {
+            ringBuffer = new ByteRingBuffer(capacity);
+            reader = new Reader();
+            reader.start();
+        }
+        return true;
+    }
+
+    /**
+     * 停止后台读线程
+     * 读线程退出时释放接收缓冲区, 等待超时后读线程仍在运行时由其退出时释放
+     */
+    public void stopReader() {
+        Reader stopping;
+        synchronized (this) {
+            stopping = reader;
+            if (stopping == null) {
+                return;
+            }
+            stopping.running = false;
+        }
+        try {
+            stopping.join(READER_INTERVAL * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 后台读线程是否运行
+     *
+     * @return
+     */
+    public synchronized boolean isReaderRunning() {
+        return reader != null;
+    }
+
+    /**
+     * 获得接收缓冲区
+     *
+     * @return 后台读线程未启动时为null
+     */
+    public ByteRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * 接收缓冲区溢出字节数
+     *
+     * @return
+     */
+    public long getOverrun() {
+        ByteRingBuffer ring = ringBuffer;
+        return ring == null ? 0 : ring.getOverrun();
+    }
+
+    /**
+     * 关闭
+     * 关闭串口后等待异步请求和后台读线程结束, 再归还帧接收缓冲区
+     */
+    public void close() {
+        ExecutorService closing;
+        synchronized (this) {
+            closing = executor;
+            executor = null;
+        }
+        if (closing != null) {
+            closing.shutdown();
+        }
+        stopReader();
+        // 先关闭串口, 使正在等待数据的异步请求尽快结束
+        transport.close();
+        if (closing != null) {
+            try {
+                if (!closing.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    PrintfUtil.e(devName, "executor is still running");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (frameLock) {
+            if (frameBuffer != null) {
+                FRAME_POOL.release(frameBuffer);
+                frameBuffer = null;
+            }
         }
     }
 
@@ -226,7 +942,7 @@ public class SerialPortClient {
      * @return
      */
     public boolean exists() {
-        return getSerialPortList().contains(devName);
+        return SerialPortRegistry.getInstance().contains(devName);
     }
 
     /**
@@ -235,33 +951,54 @@ public class SerialPortClient {
      * @return
      */
     public static List<String> getSerialPortList() {
-        List<String> list = new ArrayList<String>();
-        Enumeration enumeration = CommPortIdentifier.getPortIdentifiers();
-        while (enumeration.hasMoreElements()) {
-            CommPortIdentifier portId = (CommPortIdentifier) enumeration.nextElement();
-            if (portId.getPortType() == CommPortIdentifier.PORT_SERIAL) {
-                list.add(portId.getName());
-            }
-        }
-        return list;
+        return SerialPortRegistry.getInstance().getNames();
     }
 
     /**
-     * 获得串口
-     * 
-     * @return
+     * 后台读线程
      */
-    private CommPortIdentifier getCommPortIdentifier() {
-        CommPortIdentifier commPortIdentifier = null;
-        Enumeration enumeration = CommPortIdentifier.getPortIdentifiers();
-        while (enumeration.hasMoreElements()) {
-            CommPortIdentifier portId = (CommPortIdentifier) enumeration.nextElement();
-            if (portId.getPortType() == CommPortIdentifier.PORT_SERIAL) {
-                if (portId.getName().equals(devName)) {
-                    commPortIdentifier = portId;
+    private class Reader extends Thread {
+
+        private volatile boolean running = true;
+
+        Reader() {
+            super(devName + "-Reader");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            byte[] chunk = new byte[READER_CHUNK];
+            ByteRingBuffer ring = ringBuffer;
+            try {
+                while (running) {
+                    try {
+                        int count = transport.read(chunk, 0, chunk.length, 1, READER_INTERVAL);
+                        if (count < 0) {
+                            break;
+                        }
+                        if (count > 0) {
+                            ring.write(chunk, 0, count);
+                        }
+                    } catch (IOException e) {
+                        if (running) {
+                            PrintfUtil.e(devName + "-Reader", String.valueOf(e));
+                        }
+                        break;
+                    }
+                }
+            } finally {
+                // 任何原因退出都清除读线程, 避免isReaderRunning一直为true
+                synchronized (SerialPortClient.this) {
+                    if (reader == this) {
+                        reader = null;
+                        // 流结束或读取异常时保留接收缓冲区中未读取的数据
+                        if (!running) {
+                            ringBuffer = null;
+                        }
+                    }
                 }
             }
         }
-        return commPortIdentifier;
     }
 }
@@ -0,0 +1,221 @@
+package com.biapp.serialport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.biapp.util.PrintfUtil;
+
+/**
+ * 多串口管理
+ * <p>
+ * 并行打开多个串口, 每个串口使用独立的后台读线程, 并按轮询方式限速发送请求.
+ *
+ * @author Yun
+ */
+public class SerialPortManager {
+
+    /**
+     * 串口, 按添加顺序
+     */
+    private final List<SerialPortClient> clients = new CopyOnWriteArrayList<SerialPortClient>();
+
+    /**
+     * 正在进行的轮询请求
+     */
+    private final Map<SerialPortClient, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<SerialPortClient, CompletableFuture<byte[]>>();
+
+    /**
+     * 后台读线程接收缓冲区容量
+     */
+    private int readerCapacity = 64 * 1024;
+
+    /**
+     * 轮询调度器
+     */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 轮询任务
+     */
+    private ScheduledFuture<?> polling;
+
+    /**
+     * 轮询下标
+     */
+    private int next;
+
+    public void setReaderCapacity(int readerCapacity) {
+        this.readerCapacity = readerCapacity;
+    }
+
+    /**
+     * 添加串口
+     *
+     * @param client
+     * @return
+     */
+    public SerialPortManager add(SerialPortClient client) {
+        clients.add(client);
+        return this;
+    }
+
+    /**
+     * 获得串口
+     *
+     * @param devName 设备名称
+     * @return 不存在时为null
+     */
+    public SerialPortClient get(String devName) {
+        for (SerialPortClient client : clients) {
+            if (client.getDevName().equals(devName)) {
+                return client;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获得所有串口
+     *
+     * @return
+     */
+    public List<SerialPortClient> getClients() {
+        return new ArrayList<SerialPortClient>(clients);
+    }
+
+    /**
+     * 并行打开所有串口并启动后台读线程
+     *
+     * @return 设备名称-是否打开成功
+     */
+    public Map<String, Boolean> openAll() {
+        Map<String, Boolean> result = new LinkedHashMap<String, Boolean>();
+        if (clients.isEmpty()) {
+            return result;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(clients.size(), runnable -> {
+            Thread thread = new Thread(runnable, "SerialPortManager-Open");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<CompletableFuture<Boolean>>();
+            for (SerialPortClient client : clients) {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    if (!client.open()) {
+                        return false;
+                    }
+                    if (!client.startReader(readerCapacity)) {
+                        // 读线程启动失败时关闭已打开的串口
+                        client.close();
+                        return false;
+                    }
+                    return true;
+                }, executor));
+            }
+            for (int i = 0; i < clients.size(); i++) {
+                boolean open = futures.get(i).join();
+                if (!open) {
+                    PrintfUtil.e("SerialPortManager", clients.get(i).getDevName() + ":" + "打开串口失败");
+                }
+                result.put(clients.get(i).getDevName(), open);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return result;
+    }
+
+    /**
+     * 开始轮询
+     * 每个周期按添加顺序向下一个串口发送请求, 上一次请求未完成的串口本轮跳过
+     *
+     * @param request  请求数据
+     * @param decoder  应答帧解码器
+     * @param timeOut  应答超时
+     * @param period   轮询周期, 即所有串口合计的最大请求速率
+     * @param listener 应答回调, 失败时应答为null
+     */
+    public synchronized void startPolling(byte[] request, FrameDecoder decoder, Duration timeOut, Duration period,
+            BiConsumer<SerialPortClient, byte[]> listener) {
+        stopPolling();
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "SerialPortManager-Polling");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        polling = scheduler.scheduleAtFixedRate(() -> poll(request, decoder, timeOut, listener), 0,
+                period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 停止轮询
+     */
+    public synchronized void stopPolling() {
+        if (polling != null) {
+            polling.cancel(false);
+            polling = null;
+        }
+    }
+
+    private void poll(byte[] request, FrameDecoder decoder, Duration timeOut,
+            BiConsumer<SerialPortClient, byte[]> listener) {
+        int size = clients.size();
+        for (int i = 0; i < size; i++) {
+            next = (next + 1) % size;
+            SerialPortClient client = clients.get(next);
+            if (!client.isReaderRunning() || pending.containsKey(client)) {
+                continue;
+            }
+            CompletableFuture<byte[]> future = client.transact(request, decoder, timeOut);
+            pending.put(client, future);
+            future.whenComplete((response, e) -> {
+                pending.remove(client);
+                listener.accept(client, response);
+            });
+            return;
+        }
+    }
+
+    /**
+     * 所有串口的汇总统计
+     * 速率按各串口中最早开始的统计窗口计算, 单个串口的速率见 {@link SerialPortClient#getStats()}
+     *
+     * @return
+     */
+    public SerialPortStats getStats() {
+        SerialPortStats stats = new SerialPortStats();
+        for (SerialPortClient client : clients) {
+            stats.add(client.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 停止轮询并关闭所有串口
+     */
+    public synchronized void closeAll() {
+        stopPolling();
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        for (SerialPortClient client : clients) {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.biapp.serialport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import purejavacomm.CommPortIdentifier;
+
+/**
+ * 串口注册表
+ * <p>
+ * 按设备名称缓存串口标识, 缓存超过有效期后下次访问时重新枚举. 枚举结果变化时通知监听器.
+ *
+ * @author Yun
+ */
+public class SerialPortRegistry {
+
+    private static final SerialPortRegistry INSTANCE = new SerialPortRegistry();
+
+    /**
+     * 设备名称-串口标识, 每次刷新整体替换
+     */
+    private volatile Map<String, CommPortIdentifier> ports = Collections.emptyMap();
+
+    /**
+     * 上次刷新时间(ms)
+     */
+    private volatile long refreshTime;
+
+    /**
+     * 缓存有效期(ms)
+     */
+    private volatile long ttl = 5000;
+
+    /**
+     * 监听器
+     */
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+
+    public static SerialPortRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 设置缓存有效期
+     *
+     * @param ttl 有效期(ms), 小于等于0时每次访问都重新枚举
+     */
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 获得串口名称列表
+     *
+     * @return
+     */
+    public List<String> getNames() {
+        return new ArrayList<String>(current().keySet());
+    }
+
+    /**
+     * 获得串口标识
+     *
+     * @param name 设备名称
+     * @return 不存在时为null
+     */
+    public CommPortIdentifier get(String name) {
+        return current().get(name);
+    }
+
+    /**
+     * 是否存在
+     *
+     * @param name 设备名称
+     * @return
+     */
+    public boolean contains(String name) {
+        return current().containsKey(name);
+    }
+
+    /**
+     * 重新枚举串口
+     */
+    public void refresh() {
+        Map<String, CommPortIdentifier> scanned = new LinkedHashMap<String, CommPortIdentifier>();
+        Enumeration<?> enumeration = CommPortIdentifier.getPortIdentifiers();
+        while (enumeration.hasMoreElements()) {
+            CommPortIdentifier portId = (CommPortIdentifier) enumeration.nextElement();
+            if (portId.getPortType() == CommPortIdentifier.PORT_SERIAL) {
+                scanned.put(portId.getName(), portId);
+            }
+        }
+        List<String> added = new ArrayList<String>();
+        List<String> removed = new ArrayList<String>();
+        synchronized (this) {
+            swap(scanned, added, removed);
+        }
+        fireChanges(added, removed);
+    }
+
+    /**
+     * 添加或更新单个串口
+     *
+     * @param name   设备名称
+     * @param portId 串口标识
+     */
+    void put(String name, CommPortIdentifier portId) {
+        List<String> added = new ArrayList<String>();
+        List<String> removed = new ArrayList<String>();
+        synchronized (this) {
+            Map<String, CommPortIdentifier> updated = new LinkedHashMap<String, CommPortIdentifier>(ports);
+            updated.put(name, portId);
+            swap(updated, added, removed);
+        }
+        fireChanges(added, removed);
+    }
+
+    /**
+     * 移除单个串口
+     *
+     * @param name 设备名称
+     */
+    void remove(String name) {
+        List<String> added = new ArrayList<String>();
+        List<String> removed = new ArrayList<String>();
+        synchronized (this) {
+            Map<String, CommPortIdentifier> updated = new LinkedHashMap<String, CommPortIdentifier>(ports);
+            updated.remove(name);
+            swap(updated, added, removed);
+        }
+        fireChanges(added, removed);
+    }
+
+    private Map<String, CommPortIdentifier> current() {
+        if (refreshTime == 0 || System.currentTimeMillis() - refreshTime >= ttl) {
+            refresh();
+        }
+        return ports;
+    }
+
+    /**
+     * 替换串口表并记录变化, 调用方持有锁
+     *
+     * @param updated 新串口表
+     * @param added   新增的设备名称
+     * @param removed 移除的设备名称
+     */
+    private void swap(Map<String, CommPortIdentifier> updated, List<String> added, List<String> removed) {
+        Map<String, CommPortIdentifier> previous = ports;
+        for (String name : updated.keySet()) {
+            if (!previous.containsKey(name)) {
+                added.add(name);
+            }
+        }
+        for (String name : previous.keySet()) {
+            if (!updated.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+        ports = Collections.unmodifiableMap(updated);
+        refreshTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 通知监听器, 在锁外调用
+     *
+     * @param added   新增的设备名称
+     * @param removed 移除的设备名称
+     */
+    private void fireChanges(List<String> added, List<String> removed) {
+        for (Listener listener : listeners) {
+            for (String name : added) {
+                listener.onAdded(name);
+            }
+            for (String name : removed) {
+                listener.onRemoved(name);
+            }
+        }
+    }
+
+    /**
+     * 串口变化监听器
+     */
+    public interface Listener {
+
+        /**
+         * 串口添加
+         *
+         * @param name 设备名称
+         */
+        void onAdded(String name);
+
+        /**
+         * 串口移除
+         *
+         * @param name 设备名称
+         */
+        void onRemoved(String name);
+    }
+}
@@ -0,0 +1,181 @@
+package com.biapp.serialport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 串口收发统计
+ * <p>
+ * 统计窗口从创建或 {@link #reset()} 开始, 速率为窗口内的平均值.
+ *
+ * @author Yun
+ */
+public class SerialPortStats {
+
+    /**
+     * 发送字节数
+     */
+    private final LongAdder sentBytes = new LongAdder();
+
+    /**
+     * 接收字节数
+     */
+    private final LongAdder receivedBytes = new LongAdder();
+
+    /**
+     * 成功请求数
+     */
+    private final LongAdder transactions = new LongAdder();
+
+    /**
+     * 失败请求数
+     */
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * 请求总耗时(ns)
+     */
+    private final LongAdder totalLatency = new LongAdder();
+
+    /**
+     * 请求最大耗时(ns)
+     */
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * 统计窗口开始时间(ns)
+     */
+    private volatile long startTime = System.nanoTime();
+
+    void recordSend(int len) {
+        sentBytes.add(len);
+    }
+
+    void recordReceive(int len) {
+        receivedBytes.add(len);
+    }
+
+    void recordTransaction(long latency, boolean success) {
+        if (success) {
+            transactions.increment();
+            totalLatency.add(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        } else {
+            failures.increment();
+        }
+    }
+
+    /**
+     * 累加其他统计
+     *
+     * @param other
+     */
+    void add(SerialPortStats other) {
+        sentBytes.add(other.getSentBytes());
+        receivedBytes.add(other.getReceivedBytes());
+        transactions.add(other.getTransactions());
+        failures.add(other.getFailures());
+        totalLatency.add(other.totalLatency.sum());
+        maxLatency.accumulateAndGet(other.maxLatency.get(), Math::max);
+        // 合计统计的窗口取最早开始的窗口
+        startTime = Math.min(startTime, other.startTime);
+    }
+
+    /**
+     * 清零并开始新的统计窗口
+     */
+    public void reset() {
+        sentBytes.reset();
+        receivedBytes.reset();
+        transactions.reset();
+        failures.reset();
+        totalLatency.reset();
+        maxLatency.set(0);
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * 统计窗口时长(ms)
+     *
+     * @return
+     */
+    public long getElapsed() {
+        return (System.nanoTime() - startTime) / 1000000;
+    }
+
+    /**
+     * 发送速率(字节/秒)
+     *
+     * @return
+     */
+    public double getSendRate() {
+        return rate(getSentBytes());
+    }
+
+    /**
+     * 接收速率(字节/秒)
+     *
+     * @return
+     */
+    public double getReceiveRate() {
+        return rate(getReceivedBytes());
+    }
+
+    /**
+     * 请求速率(次/秒), 含失败请求
+     *
+     * @return
+     */
+    public double getTransactionRate() {
+        return rate(getTransactions() + getFailures());
+    }
+
+    private double rate(long count) {
+        long elapsed = System.nanoTime() - startTime;
+        return elapsed <= 0 ? 0 : count * 1000000000.0 / elapsed;
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    public long getTransactions() {
+        return transactions.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * 平均请求耗时(ms)
+     *
+     * @return
+     */
+    public double getAverageLatency() {
+        long count = transactions.sum();
+        return count == 0 ? 0 : totalLatency.sum() / (count * 1000000.0);
+    }
+
+    /**
+     * 最大请求耗时(ms)
+     *
+     * @return
+     */
+    public double getMaxLatency() {
+        return maxLatency.get() / 1000000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "send=" + getSentBytes() + "(" + String.format("%.1f", getSendRate()) + "B/s)" + " receive="
+                + getReceivedBytes() + "(" + String.format("%.1f", getReceiveRate()) + "B/s)" + " transactions="
+                + getTransactions() + " failures=" + getFailures() + " avg="
+                + String.format("%.3f", getAverageLatency()) + "ms" + " max="
+                + String.format("%.3f", getMaxLatency()) + "ms";
+    }
+}
@@ -0,0 +1,188 @@
+package com.biapp.serialport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.regex.Pattern;
+
+import com.biapp.util.PrintfUtil;
+
+import purejavacomm.CommPortIdentifier;
+import purejavacomm.NoSuchPortException;
+
+/**
+ * 串口热插拔监听
+ * <p>
+ * 监听设备目录(默认/dev)中串口节点的创建和删除, 同步更新 {@link SerialPortRegistry},
+ * 由注册表通知其监听器. 运行期间注册表不再按有效期重新枚举.
+ *
+ * @author Yun
+ */
+public class SerialPortWatcher implements Closeable {
+
+    /**
+     * 默认串口节点名称
+     */
+    public static final Pattern DEFAULT_PATTERN = Pattern.compile("^(tty(S|USB|ACM|AMA)\\d+|(tty|cu)\\..+)$");
+
+    /**
+     * 设备目录
+     */
+    private final Path dir;
+
+    /**
+     * 串口节点名称
+     */
+    private final Pattern pattern;
+
+    /**
+     * 注册表
+     */
+    private final SerialPortRegistry registry;
+
+    private WatchService watchService;
+
+    private Thread thread;
+
+    /**
+     * 启动前注册表缓存有效期
+     */
+    private long ttl;
+
+    public SerialPortWatcher() {
+        this(Paths.get("/dev"), DEFAULT_PATTERN, SerialPortRegistry.getInstance());
+    }
+
+    /**
+     * @param dir      设备目录
+     * @param pattern  串口节点名称
+     * @param registry 注册表
+     */
+    public SerialPortWatcher(Path dir, Pattern pattern, SerialPortRegistry registry) {
+        this.dir = dir;
+        this.pattern = pattern;
+        this.registry = registry;
+    }
+
+    /**
+     * 添加监听器, 等同于向注册表添加监听器
+     *
+     * @param listener
+     */
+    public void addListener(SerialPortRegistry.Listener listener) {
+        registry.addListener(listener);
+    }
+
+    public void removeListener(SerialPortRegistry.Listener listener) {
+        registry.removeListener(listener);
+    }
+
+    /**
+     * 开始监听
+     *
+     * @throws IOException
+     */
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        registry.refresh();
+        ttl = registry.getTtl();
+        registry.setTtl(Long.MAX_VALUE);
+        final WatchService service = watchService;
+        thread = new Thread(() -> watch(service), "SerialPortWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 停止监听
+     */
+    public synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        watchService = null;
+        registry.setTtl(ttl);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // 事件丢失, 重新枚举
+                        registry.refresh();
+                        continue;
+                    }
+                    String name = ((Path) event.context()).getFileName().toString();
+                    if (!pattern.matcher(name).matches()) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        onCreate(name);
+                    } else {
+                        onDelete(name);
+                    }
+                }
+                if (!key.reset()) {
+                    PrintfUtil.e("SerialPortWatcher", dir + " is no longer accessible");
+                    break;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // 已停止
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获得新建节点的串口标识
+     *
+     * @param name 节点名称
+     * @return
+     * @throws NoSuchPortException 不是串口
+     */
+    protected CommPortIdentifier getPortIdentifier(String name) throws NoSuchPortException {
+        return CommPortIdentifier.getPortIdentifier(name);
+    }
+
+    private void onCreate(String name) {
+        try {
+            registry.put(name, getPortIdentifier(name));
+        } catch (NoSuchPortException e) {
+            PrintfUtil.e("SerialPortWatcher", name + ":" + "not a serial port");
+        }
+    }
+
+    private void onDelete(String name) {
+        registry.remove(name);
+    }
+}
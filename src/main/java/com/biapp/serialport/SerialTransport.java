@@ -0,0 +1,72 @@
+package com.biapp.serialport;
+
+import java.io.IOException;
+
+/**
+ * 串口传输层
+ * <p>
+ * {@link SerialPortClient} 通过传输层收发数据. 除真实串口外, 还可使用内存回环或伪终端进行测试和基准测试.
+ *
+ * @author Yun
+ * @see PureJavaCommTransport
+ * @see LoopbackTransport
+ * @see PtyTransport
+ */
+public interface SerialTransport {
+
+    /**
+     * 设备名称
+     *
+     * @return
+     */
+    String getName();
+
+    /**
+     * 打开
+     *
+     * @return 是否打开成功
+     */
+    boolean open();
+
+    /**
+     * 是否已打开
+     *
+     * @return
+     */
+    boolean isOpen();
+
+    /**
+     * 批量读取数据, 阻塞直到读到最小长度或超时
+     *
+     * @param buffer  缓冲区
+     * @param offset  缓冲区偏移
+     * @param len     最大读取长度
+     * @param min     最小读取长度
+     * @param timeOut 超时(ms)
+     * @return 实际读取长度, -1表示流已结束
+     * @throws IOException
+     */
+    int read(byte[] buffer, int offset, int len, int min, long timeOut) throws IOException;
+
+    /**
+     * 写入数据
+     *
+     * @param data   数据
+     * @param offset 偏移
+     * @param len    长度
+     * @throws IOException
+     */
+    void write(byte[] data, int offset, int len) throws IOException;
+
+    /**
+     * 刷新输出
+     *
+     * @throws IOException
+     */
+    void flush() throws IOException;
+
+    /**
+     * 关闭
+     */
+    void close();
+}
@@ -0,0 +1,117 @@
+package com.biapp.serialport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 基于输入输出流的传输层
+ * <p>
+ * 支持接收阈值和接收超时的子类在流内阻塞等待, 否则每次读取所有可用数据并间隔 {@value #POLL_INTERVAL}ms 轮询.
+ *
+ * @author Yun
+ */
+public abstract class StreamTransport implements SerialTransport {
+
+    /**
+     * 不支持接收超时时的轮询间隔(ms)
+     */
+    private static final long POLL_INTERVAL = 1;
+
+    /**
+     * 输入流
+     */
+    protected InputStream inputStream;
+
+    /**
+     * 输出流
+     */
+    protected OutputStream outputStream;
+
+    @Override
+    public boolean isOpen() {
+        return inputStream != null && outputStream != null;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len, int min, long timeOut) throws IOException {
+        InputStream input = inputStream;
+        if (input == null) {
+            throw new IOException(getName() + " is not open");
+        }
+        int index = 0;
+        long deadline = System.currentTimeMillis() + timeOut;
+        while (index < min) {
+            long remain = deadline - System.currentTimeMillis();
+            if (remain <= 0) {
+                break;
+            }
+            int count = 0;
+            if (setReceiveLimit(min - index, remain)) {
+                // 阻塞直到收到剩余长度或超时
+                count = input.read(buffer, offset + index, len - index);
+            } else {
+                int available = input.available();
+                if (available > 0) {
+                    count = input.read(buffer, offset + index, Math.min(available, len - index));
+                } else {
+                    try {
+                        Thread.sleep(POLL_INTERVAL);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            if (count < 0) {
+                return index == 0 ? -1 : index;
+            }
+            index += count;
+        }
+        return index;
+    }
+
+    /**
+     * 设置接收阈值和接收超时
+     *
+     * @param threshold 接收阈值
+     * @param timeOut   接收超时(ms)
+     * @return 是否设置成功, 不成功时退化为轮询
+     */
+    protected boolean setReceiveLimit(int threshold, long timeOut) {
+        return false;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int len) throws IOException {
+        OutputStream output = outputStream;
+        if (output == null) {
+            throw new IOException(getName() + " is not open");
+        }
+        output.write(data, offset, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        OutputStream output = outputStream;
+        if (output != null) {
+            output.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        inputStream = null;
+        outputStream = null;
+    }
+}
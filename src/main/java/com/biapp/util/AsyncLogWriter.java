@@ -0,0 +1,318 @@
+package com.biapp.util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志输出
+ * <p>
+ * 日志行进入有界无锁队列后立即返回, 后台线程批量写入文件或标准输出, 慢终端或重定向文件不再阻塞串口读写线程.
+ * 队列满时按 {@link Overflow} 策略丢弃或等待, 丢弃行数见 {@link #getDropped()}.
+ *
+ * <pre>
+ * {@code
+ * PrintfUtil.setWriter(new AsyncLogWriter(Paths.get("serial.log"), 8192, AsyncLogWriter.Overflow.DROP));
+ * }
+ * </pre>
+ *
+ * @author Yun
+ */
+public class AsyncLogWriter implements AutoCloseable {
+
+    /**
+     * 队列满时的处理策略
+     */
+    public enum Overflow {
+        /**
+         * 丢弃并计数
+         */
+        DROP,
+        /**
+         * 等待队列可写
+         */
+        BLOCK
+    }
+
+    /**
+     * 单批最大行数
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * 文件写缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 空闲时最长休眠(ns)
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * 日志行
+     */
+    private static final class Record {
+
+        final boolean err;
+
+        final String line;
+
+        Record(boolean err, String line) {
+            this.err = err;
+            this.line = line;
+        }
+    }
+
+    /**
+     * 日志队列
+     */
+    private final MpscArrayQueue<Record> queue;
+
+    /**
+     * 队列满时的处理策略
+     */
+    private final Overflow overflow;
+
+    /**
+     * 日志文件, 为null时输出到标准输出
+     */
+    private final FileChannel channel;
+
+    /**
+     * 文件写缓冲区
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 标准输出批量缓冲
+     */
+    private final StringBuilder out = new StringBuilder();
+
+    /**
+     * 标准错误批量缓冲
+     */
+    private final StringBuilder err = new StringBuilder();
+
+    /**
+     * 丢弃行数
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 写出行数
+     */
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * 后台写线程
+     */
+    private final Thread writer;
+
+    /**
+     * 写线程是否休眠
+     */
+    private volatile boolean idle;
+
+    private volatile boolean running = true;
+
+    /**
+     * 输出到标准输出/标准错误
+     *
+     * @param capacity 队列容量
+     * @param overflow 队列满时的处理策略
+     */
+    public AsyncLogWriter(int capacity, Overflow overflow) {
+        this((FileChannel) null, capacity, overflow);
+    }
+
+    /**
+     * 追加到文件
+     *
+     * @param file     日志文件, 为null时输出到标准输出
+     * @param capacity 队列容量
+     * @param overflow 队列满时的处理策略
+     * @throws IOException
+     */
+    public AsyncLogWriter(Path file, int capacity, Overflow overflow) throws IOException {
+        this(file == null ? null
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND),
+                capacity, overflow);
+    }
+
+    private AsyncLogWriter(FileChannel channel, int capacity, Overflow overflow) {
+        this.queue = new MpscArrayQueue<Record>(capacity);
+        this.overflow = overflow;
+        this.channel = channel;
+        this.buffer = channel == null ? null : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.writer = new Thread(this::drainLoop, "PrintfUtil-Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 写入一行
+     *
+     * @param err  是否为错误输出
+     * @param line 日志行, 不含换行符
+     * @return 是否入队, 丢弃或已关闭时为false
+     */
+    public boolean write(boolean err, String line) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        Record record = new Record(err, line);
+        while (!queue.offer(record)) {
+            if (overflow == Overflow.DROP || !running) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * 丢弃行数
+     *
+     * @return
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 写出行数
+     *
+     * @return
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * 队列中等待写出的行数(估计值)
+     *
+     * @return
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    /**
+     * 停止接收日志, 写出队列中剩余日志后关闭文件
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = !running;
+            int count = drainBatch();
+            if (count == 0) {
+                if (stopping) {
+                    break;
+                }
+                idle = true;
+                if (queue.size() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    /**
+     * 写出一批日志
+     *
+     * @return 行数
+     */
+    private int drainBatch() {
+        int count = 0;
+        Record record;
+        while (count < BATCH && (record = queue.poll()) != null) {
+            if (channel != null) {
+                put(record.line);
+                put("\n");
+            } else {
+                (record.err ? err : out).append(record.line).append('\n');
+            }
+            count++;
+        }
+        if (count > 0) {
+            flush();
+            written.addAndGet(count);
+        }
+        return count;
+    }
+
+    private void put(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flushChannel();
+            }
+            int len = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, len);
+            offset += len;
+        }
+    }
+
+    private void flush() {
+        if (channel != null) {
+            flushChannel();
+        } else {
+            print(System.out, out);
+            print(System.err, err);
+        }
+    }
+
+    private void flushChannel() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        buffer.clear();
+    }
+
+    private static void print(PrintStream stream, StringBuilder lines) {
+        if (lines.length() > 0) {
+            stream.print(lines);
+            stream.flush();
+            lines.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.biapp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁多生产者/单消费者队列
+ * <p>
+ * 每个槽位带序号: 生产者CAS抢占写位置后写入元素并发布序号, 消费者按序号判断槽位是否可读. 任意线程可调用
+ * {@link #offer(Object)}, 只允许一个线程调用 {@link #poll()}.
+ *
+ * @author Yun
+ */
+class MpscArrayQueue<E> {
+
+    /**
+     * 元素
+     */
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * 槽位序号, 等于写位置时可写, 等于写位置+1时可读
+     */
+    private final AtomicLongArray sequence;
+
+    /**
+     * 下标掩码
+     */
+    private final int mask;
+
+    /**
+     * 写位置(生产者)
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 读位置(消费者)
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量, 向上取整为2的幂
+     */
+    MpscArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity should be in range [1, 2^30]");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new AtomicReferenceArray<E>(size);
+        sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequence.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 可读元素数(估计值)
+     *
+     * @return
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, capacity()));
+    }
+
+    /**
+     * 入队(生产者)
+     *
+     * @param e 元素
+     * @return 队列已满时为false
+     */
+    boolean offer(E e) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequence.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    sequence.lazySet(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 出队(消费者)
+     *
+     * @return 队列为空时为null
+     */
+    E poll() {
+        long pos = head;
+        int index = (int) pos & mask;
+        if (sequence.get(index) != pos + 1) {
+            return null;
+        }
+        E e = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequence.lazySet(index, pos + mask + 1);
+        head = pos + 1;
+        return e;
+    }
+}
@@ -1,20 +1,168 @@
 package com.biapp.util;
 
 import aura.data.Bytes;
+import aura.data.Preconditions;
 import java.lang.management.ManagementFactory;
-import java.lang.management.RuntimeMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 /**
  * @author Yun
  */
 public class PrintfUtil {
 
-    private static boolean showCompileInfo = false;
+    /**
+     * 日志级别, OFF只用作阈值, 该级别的日志不输出
+     */
+    public enum Level {
+        TRACE('T'), DEBUG('D'), INFO('I'), WARN('W'), ERROR('E'), OFF('O');
+
+        /**
+         * 输出标识
+         */
+        private final char mark;
+
+        Level(char mark) {
+            this.mark = mark;
+        }
+    }
+
+    /**
+     * 级别阈值, 整体替换以保证一次volatile读取即可判断
+     */
+    private static final class Levels {
+
+        /**
+         * 全局阈值
+         */
+        final int global;
+
+        /**
+         * 全局和各标签阈值中的最小值, 低于它的日志无需查表
+         */
+        final int min;
+
+        /**
+         * 标签阈值
+         */
+        final Map<String, Level> tags;
+
+        Levels(Level global, Map<String, Level> tags) {
+            int min = global.ordinal();
+            for (Level level : tags.values()) {
+                min = Math.min(min, level.ordinal());
+            }
+            this.global = global.ordinal();
+            this.min = min;
+            this.tags = tags;
+        }
+    }
+
+    private static volatile Levels levels = new Levels(Level.DEBUG, Collections.<String, Level>emptyMap());
+
+    private static volatile boolean showCompileInfo = false;
+
+    /**
+     * 异步输出, 为null时同步输出到标准输出
+     */
+    private static volatile AsyncLogWriter writer;
+
+    /**
+     * 时间前缀格式
+     */
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * 上次格式化的秒
+     */
+    private static volatile TimeCache timeCache;
 
     public static void setShowCompileInfo(boolean showCompileInfo) {
         PrintfUtil.showCompileInfo = showCompileInfo;
     }
 
+    /**
+     * 设置全局级别, 低于该级别的日志不输出, 默认{@link Level#DEBUG}
+     *
+     * @param level
+     */
+    public static synchronized void setLevel(Level level) {
+        levels = new Levels(Preconditions.checkNotNull(level, "level"), levels.tags);
+    }
+
+    /**
+     * 获得全局级别
+     *
+     * @return
+     */
+    public static Level getLevel() {
+        return Level.values()[levels.global];
+    }
+
+    /**
+     * 设置标签级别, 优先于全局级别
+     *
+     * @param tag
+     * @param level 为null时恢复使用全局级别
+     */
+    public static synchronized void setLevel(String tag, Level level) {
+        Levels current = levels;
+        Map<String, Level> tags = new HashMap<String, Level>(current.tags);
+        if (level == null) {
+            tags.remove(tag);
+        } else {
+            tags.put(tag, level);
+        }
+        levels = new Levels(Level.values()[current.global], tags);
+    }
+
+    /**
+     * 是否输出指定级别和标签的日志
+     *
+     * @param level
+     * @param tag
+     * @return level为OFF时为false
+     */
+    public static boolean isLoggable(Level level, String tag) {
+        Levels current = levels;
+        int ordinal = level.ordinal();
+        if (ordinal < current.min || level == Level.OFF) {
+            return false;
+        }
+        if (current.tags.isEmpty()) {
+            return ordinal >= current.global;
+        }
+        Level threshold = current.tags.get(tag);
+        return ordinal >= (threshold != null ? threshold.ordinal() : current.global);
+    }
+
+    /**
+     * 设置异步输出
+     *
+     * @param writer 异步输出, 为null时恢复同步输出
+     * @return 原异步输出, 由调用方关闭
+     */
+    public static AsyncLogWriter setWriter(AsyncLogWriter writer) {
+        AsyncLogWriter old = PrintfUtil.writer;
+        PrintfUtil.writer = writer;
+        return old;
+    }
+
+    /**
+     * 获得异步输出
+     *
+     * @return
+     */
+    public static AsyncLogWriter getWriter() {
+        return writer;
+    }
+
     /**
      * 打印
      *
@@ -22,6 +170,9 @@ public class PrintfUtil {
      * @param hex
      */
     public static void hex(String tag, String hex) {
+        if (!isLoggable(Level.DEBUG, tag)) {
+            return;
+        }
         int max = 16;
         int round = hex.length() / max;
         // 小于16
@@ -46,89 +197,441 @@ public class PrintfUtil {
     }
 
     /**
-     * 打印(超过2K)
+     * 跟踪(超过2K分段)
+     *
+     * @param tag
+     * @param log
+     */
+    public static void t(String tag, String log) {
+        log(Level.TRACE, tag, log);
+    }
+
+    /**
+     * 跟踪, 级别关闭时不调用supplier
+     *
+     * @param tag
+     * @param supplier
+     */
+    public static void t(String tag, Supplier<String> supplier) {
+        if (isLoggable(Level.TRACE, tag)) {
+            print(Level.TRACE, tag, supplier.get());
+        }
+    }
+
+    /**
+     * 跟踪, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param arg
+     */
+    public static void t(String tag, String pattern, Object arg) {
+        if (isLoggable(Level.TRACE, tag)) {
+            print(Level.TRACE, tag, format(pattern, arg));
+        }
+    }
+
+    /**
+     * 跟踪, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param args
+     */
+    public static void t(String tag, String pattern, Object... args) {
+        if (isLoggable(Level.TRACE, tag)) {
+            print(Level.TRACE, tag, format(pattern, args));
+        }
+    }
+
+    /**
+     * 调试(超过2K分段)
      *
      * @param tag
      * @param log
      */
     public static void d(String tag, String log) {
+        log(Level.DEBUG, tag, log);
+    }
+
+    /**
+     * 调试, 级别关闭时不调用supplier
+     *
+     * @param tag
+     * @param supplier
+     */
+    public static void d(String tag, Supplier<String> supplier) {
+        if (isLoggable(Level.DEBUG, tag)) {
+            print(Level.DEBUG, tag, supplier.get());
+        }
+    }
+
+    /**
+     * 调试, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param arg
+     */
+    public static void d(String tag, String pattern, Object arg) {
+        if (isLoggable(Level.DEBUG, tag)) {
+            print(Level.DEBUG, tag, format(pattern, arg));
+        }
+    }
+
+    /**
+     * 调试, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param args
+     */
+    public static void d(String tag, String pattern, Object... args) {
+        if (isLoggable(Level.DEBUG, tag)) {
+            print(Level.DEBUG, tag, format(pattern, args));
+        }
+    }
+
+    /**
+     * 信息(超过2K分段)
+     *
+     * @param tag
+     * @param log
+     */
+    public static void i(String tag, String log) {
+        log(Level.INFO, tag, log);
+    }
+
+    /**
+     * 信息, 级别关闭时不调用supplier
+     *
+     * @param tag
+     * @param supplier
+     */
+    public static void i(String tag, Supplier<String> supplier) {
+        if (isLoggable(Level.INFO, tag)) {
+            print(Level.INFO, tag, supplier.get());
+        }
+    }
+
+    /**
+     * 信息, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param arg
+     */
+    public static void i(String tag, String pattern, Object arg) {
+        if (isLoggable(Level.INFO, tag)) {
+            print(Level.INFO, tag, format(pattern, arg));
+        }
+    }
+
+    /**
+     * 信息, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param args
+     */
+    public static void i(String tag, String pattern, Object... args) {
+        if (isLoggable(Level.INFO, tag)) {
+            print(Level.INFO, tag, format(pattern, args));
+        }
+    }
+
+    /**
+     * 警告(超过2K分段)
+     *
+     * @param tag
+     * @param log
+     */
+    public static void w(String tag, String log) {
+        log(Level.WARN, tag, log);
+    }
+
+    /**
+     * 警告, 级别关闭时不调用supplier
+     *
+     * @param tag
+     * @param supplier
+     */
+    public static void w(String tag, Supplier<String> supplier) {
+        if (isLoggable(Level.WARN, tag)) {
+            print(Level.WARN, tag, supplier.get());
+        }
+    }
+
+    /**
+     * 警告, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param arg
+     */
+    public static void w(String tag, String pattern, Object arg) {
+        if (isLoggable(Level.WARN, tag)) {
+            print(Level.WARN, tag, format(pattern, arg));
+        }
+    }
+
+    /**
+     * 警告, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param args
+     */
+    public static void w(String tag, String pattern, Object... args) {
+        if (isLoggable(Level.WARN, tag)) {
+            print(Level.WARN, tag, format(pattern, args));
+        }
+    }
+
+    /**
+     * 错误(超过2K分段)
+     *
+     * @param tag
+     * @param log
+     */
+    public static void e(String tag, String log) {
+        log(Level.ERROR, tag, log);
+    }
+
+    /**
+     * 错误, 级别关闭时不调用supplier
+     *
+     * @param tag
+     * @param supplier
+     */
+    public static void e(String tag, Supplier<String> supplier) {
+        if (isLoggable(Level.ERROR, tag)) {
+            print(Level.ERROR, tag, supplier.get());
+        }
+    }
+
+    /**
+     * 错误, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param arg
+     */
+    public static void e(String tag, String pattern, Object arg) {
+        if (isLoggable(Level.ERROR, tag)) {
+            print(Level.ERROR, tag, format(pattern, arg));
+        }
+    }
+
+    /**
+     * 错误, 级别关闭时不格式化
+     *
+     * @param tag
+     * @param pattern 以{}为占位符, byte[]参数按16进制输出
+     * @param args
+     */
+    public static void e(String tag, String pattern, Object... args) {
+        if (isLoggable(Level.ERROR, tag)) {
+            print(Level.ERROR, tag, format(pattern, args));
+        }
+    }
+
+    /**
+     * 输出日志
+     *
+     * @param level 级别, OFF时不输出
+     * @param tag
+     * @param log
+     */
+    public static void log(Level level, String tag, String log) {
+        if (isLoggable(level, tag)) {
+            print(level, tag, log);
+        }
+    }
+
+    /**
+     * 按{}占位符格式化
+     *
+     * @param pattern
+     * @param args    多余的参数追加在末尾
+     * @return
+     */
+    private static String format(String pattern, Object... args) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        int i = 0;
+        while (i < args.length) {
+            int index = pattern.indexOf("{}", start);
+            if (index < 0) {
+                break;
+            }
+            builder.append(pattern, start, index);
+            appendArg(builder, args[i++]);
+            start = index + 2;
+        }
+        builder.append(pattern, start, pattern.length());
+        if (i < args.length) {
+            builder.append(" [");
+            appendArg(builder, args[i++]);
+            while (i < args.length) {
+                builder.append(", ");
+                appendArg(builder, args[i++]);
+            }
+            builder.append(']');
+        }
+        return builder.toString();
+    }
+
+    private static String format(String pattern, Object arg) {
+        return format(pattern, new Object[] { arg });
+    }
+
+    private static void appendArg(StringBuilder builder, Object arg) {
+        if (arg instanceof byte[]) {
+            byte[] data = (byte[]) arg;
+            Bytes.appendHex(builder, data, 0, data.length);
+        } else {
+            builder.append(arg);
+        }
+    }
+
+    /**
+     * 输出, 超过2K分段
+     *
+     * @param level
+     * @param tag
+     * @param log
+     */
+    private static void print(Level level, String tag, String log) {
         int max = 2048;
         int round = log.length() / max;
-        // 小于1024
         if (round == 0) {
-            debug(tag, log);
+            print(level, tag, log, null);
         } else {
             for (int i = 0; i < round; i++) {
-                debug(tag, "(" + (i + 1) + ")" + log.substring(i * max, (i + 1) * max));
+                print(level, tag, log.substring(i * max, (i + 1) * max), "(" + (i + 1) + ")");
             }
             if (log.length() % max != 0) {
-                debug(tag, "(" + (round + 1) + ")" + log.substring(round * max));
+                print(level, tag, log.substring(round * max), "(" + (round + 1) + ")");
             }
         }
     }
 
+    private static void debug(String tag, String log) {
+        print(Level.DEBUG, tag, log, null);
+    }
+
     /**
-     * 打印(超过2K)
+     * 格式化并输出一行, 仅在显示编译信息时获取调用位置
      *
+     * @param level
      * @param tag
-     * @param err
+     * @param log
+     * @param part  分段序号, 可为null
      */
-    public static void e(String tag, String err) {
-        int max = 2048;
-        int round = err.length() / max;
-        // 小于1024
-        if (round == 0) {
-            err(tag, err);
-        } else {
-            for (int i = 0; i < round; i++) {
-                err(tag + "(" + (round + 1) + ")", err.substring(i * max, (i + 1) * max));
+    private static void print(Level level, String tag, String log, String part) {
+        String printString;
+        if (showCompileInfo) {
+            StackTraceElement caller = getCaller();
+            Thread thread = Thread.currentThread();
+            StringBuilder builder = new StringBuilder(96 + tag.length() + log.length());
+            builder.append(level.mark).append(' ');
+            appendTime(builder, System.currentTimeMillis());
+            builder.append(" P:").append(Pid.PID).append(" T:").append(thread.getId()).append('(')
+                    .append(thread.getName()).append(')');
+            if (caller != null) {
+                builder.append(caller.getClassName()).append('.').append(caller.getMethodName()).append('(')
+                        .append(caller.getFileName()).append(':').append(caller.getLineNumber()).append(')');
             }
-            if (err.length() % max != 0) {
-                err(tag + "(" + (round + 1) + ")", err.substring(round * max));
+            builder.append(": [").append(tag).append(']');
+            if (part != null) {
+                builder.append(part);
             }
+            printString = builder.append(log).toString();
+        } else {
+            printString = part == null ? " [" + tag + "]" + log : " [" + tag + "]" + part + log;
         }
+        print(level.compareTo(Level.WARN) >= 0, printString);
     }
 
-    private static void debug(String tag, String log) {
-        debug(tag, log, getCaller()[2]);
+    /**
+     * 输出一行, 设置了异步输出时入队后立即返回
+     *
+     * @param err  是否为错误输出
+     * @param line
+     */
+    private static void print(boolean err, String line) {
+        AsyncLogWriter writer = PrintfUtil.writer;
+        if (writer != null) {
+            writer.write(err, line);
+        } else if (err) {
+            System.err.println(line);
+        } else {
+            System.out.println(line);
+        }
     }
 
-    private static void err(String tag, String log) {
-        err(tag, log, getCaller()[2]);
+    /**
+     * 获得PrintfUtil之外的第一个调用位置
+     *
+     * @return
+     */
+    private static StackTraceElement getCaller() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!element.getClassName().equals(PrintfUtil.class.getName())) {
+                return element;
+            }
+        }
+        return null;
     }
 
-    private static void debug(String tag, String log, StackTraceElement caller) {
-        String printString = "";
-        if (showCompileInfo) {
-            RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
-            String processName = runtime.getName();
-            processName = processName.substring(0, processName.indexOf("@"));
-            printString = "D" + " " + DateUtil.getDateString("YYYY-MM-dd HH:mm:ss.SSS", System.currentTimeMillis())
-                    + " P:" + processName + " T:" + Thread.currentThread().getId() + "("
-                    + Thread.currentThread().getName() + ")" + caller.getClassName() + "." + caller.getMethodName()
-                    + "(" + caller.getFileName() + ":" + caller.getLineNumber() + ")" + ":";
+    /**
+     * 追加时间 yyyy-MM-dd HH:mm:ss.SSS, 同一秒内复用已格式化的前缀
+     *
+     * @param builder
+     * @param time
+     */
+    private static void appendTime(StringBuilder builder, long time) {
+        long second = Math.floorDiv(time, 1000);
+        TimeCache cache = timeCache;
+        if (cache == null || cache.second != second) {
+            cache = new TimeCache(second, TIME_FORMAT.format(Instant.ofEpochSecond(second)));
+            timeCache = cache;
+        }
+        int millis = (int) Math.floorMod(time, 1000);
+        builder.append(cache.text).append('.');
+        if (millis < 100) {
+            builder.append('0');
         }
-        printString += " [" + tag + "]" + log;
-        System.out.println(printString);
+        if (millis < 10) {
+            builder.append('0');
+        }
+        builder.append(millis);
     }
 
-    private static void err(String tag, String log, StackTraceElement caller) {
-        String printString = "";
-        if (showCompileInfo) {
-            RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
-            String processName = runtime.getName();
-            processName = processName.substring(0, processName.indexOf("@"));
-            printString = "E" + " " + DateUtil.getDateString("YYYY-MM-dd HH:mm:ss.SSS", System.currentTimeMillis())
-                    + " P:" + processName + " T:" + Thread.currentThread().getId() + "("
-                    + Thread.currentThread().getName() + ")" + caller.getClassName() + "." + caller.getMethodName()
-                    + "(" + caller.getFileName() + ":" + caller.getLineNumber() + ")" + ":";
+    private static final class TimeCache {
+
+        final long second;
+
+        final String text;
+
+        TimeCache(long second, String text) {
+            this.second = second;
+            this.text = text;
         }
-        printString += " [" + tag + "]" + log;
-        System.err.println(printString);
     }
 
-    private static StackTraceElement[] getCaller() {
-        StackTraceElement[] stack = (new Throwable()).getStackTrace();
-        return stack;
+    /**
+     * 进程ID, 首次使用时获取
+     */
+    private static final class Pid {
+
+        static final String PID;
+
+        static {
+            String name = ManagementFactory.getRuntimeMXBean().getName();
+            int index = name.indexOf('@');
+            PID = index > 0 ? name.substring(0, index) : name;
+        }
     }
 }
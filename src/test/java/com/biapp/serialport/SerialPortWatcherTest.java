@@ -0,0 +1,114 @@
+package com.biapp.serialport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import purejavacomm.CommPortIdentifier;
+import purejavacomm.NoSuchPortException;
+
+/**
+ * {@link SerialPortWatcher} 在临时目录中创建和删除节点
+ *
+ * @author Yun
+ */
+public class SerialPortWatcherTest {
+
+    /**
+     * 事件等待时间(s), 部分平台的WatchService为轮询实现
+     */
+    private static final long TIMEOUT = 15;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<String>();
+
+    private SerialPortRegistry registry;
+
+    private SerialPortWatcher watcher;
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = folder.getRoot().toPath();
+        registry = new SerialPortRegistry();
+        watcher = new SerialPortWatcher(dir, SerialPortWatcher.DEFAULT_PATTERN, registry) {
+
+            @Override
+            protected CommPortIdentifier getPortIdentifier(String name) throws NoSuchPortException {
+                // ttyS节点模拟无法打开的串口
+                if (name.startsWith("ttyS")) {
+                    throw new NoSuchPortException();
+                }
+                return null;
+            }
+        };
+        watcher.addListener(new SerialPortRegistry.Listener() {
+
+            @Override
+            public void onAdded(String name) {
+                events.add("+" + name);
+            }
+
+            @Override
+            public void onRemoved(String name) {
+                events.add("-" + name);
+            }
+        });
+        watcher.start();
+        events.clear();
+    }
+
+    @After
+    public void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    public void createAndDelete() throws Exception {
+        Files.createFile(dir.resolve("ttyUSB90"));
+        assertEquals("+ttyUSB90", events.poll(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(registry.contains("ttyUSB90"));
+
+        Files.delete(dir.resolve("ttyUSB90"));
+        assertEquals("-ttyUSB90", events.poll(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(registry.contains("ttyUSB90"));
+    }
+
+    @Test
+    public void ignoresUnmatchedNames() throws Exception {
+        Files.createFile(dir.resolve("notes.txt"));
+        Files.createFile(dir.resolve("ttyACM90"));
+        // 事件按顺序到达, 第一个事件即为匹配的节点
+        assertEquals("+ttyACM90", events.poll(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(registry.contains("notes.txt"));
+    }
+
+    @Test
+    public void ignoresPortsThatCannotBeResolved() throws Exception {
+        Files.createFile(dir.resolve("ttyS90"));
+        Files.createFile(dir.resolve("ttyUSB91"));
+        assertEquals("+ttyUSB91", events.poll(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(registry.contains("ttyS90"));
+
+        // 未加入注册表的节点删除时也不通知
+        Files.delete(dir.resolve("ttyS90"));
+        Files.delete(dir.resolve("ttyUSB91"));
+        assertEquals("-ttyUSB91", events.poll(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(events.isEmpty());
+    }
+}